@@ -1,5 +1,7 @@
 package abstractions;
 
+import java.util.Iterator;
+
 import binaryTree.BinaryTreeNode;
 
 /**
@@ -56,4 +58,56 @@ public interface BinarySearchTree<T extends Comparable<T>> extends BinaryTree<T>
 	 */
 	public BinaryTreeNode<T> successor(T element);
 
+	/**
+	 * Returns the node containing the k-th smallest element of the binary search
+	 * tree, counting from 0 (so select(0) is the minimum and select(size() - 1) is
+	 * the maximum). If k is negative or not smaller than the size of the tree, it
+	 * returns null.
+	 * 
+	 * @param k the position (in the tree order) of the wanted element.
+	 * 
+	 * @return the node containing the k-th smallest element.
+	 * 
+	 */
+	public BinaryTreeNode<T> select(int k);
+
+	/**
+	 * Returns the number of elements in the binary search tree that are smaller
+	 * than the given element. The element does not need to be in the tree. If the
+	 * element is null, this method returns -1.
+	 * 
+	 * @param element the element whose rank is being calculated.
+	 * 
+	 * @return the number of elements smaller than the given element.
+	 * 
+	 */
+	public int rank(T element);
+
+	/**
+	 * Returns a lazy iterator over the elements of the binary search tree that are
+	 * between the given bounds (both inclusive), in ascending order. A null bound
+	 * leaves that side of the range unbounded. The tree must not be modified while
+	 * the iterator is being used.
+	 * 
+	 * @param lo the smallest element of the range (or null).
+	 * @param hi the greatest element of the range (or null).
+	 * 
+	 * @return an iterator over the elements in the range.
+	 * 
+	 */
+	public Iterator<T> range(T lo, T hi);
+
+	/**
+	 * Returns the number of elements of the binary search tree that are between
+	 * the given bounds (both inclusive). A null bound leaves that side of the range
+	 * unbounded.
+	 * 
+	 * @param lo the smallest element of the range (or null).
+	 * @param hi the greatest element of the range (or null).
+	 * 
+	 * @return the number of elements in the range.
+	 * 
+	 */
+	public int countRange(T lo, T hi);
+
 }
@@ -1,16 +1,19 @@
 package abstractions;
 
+import java.util.Iterator;
+
 import binaryTree.BinaryTreeNode;
 
 /**
  * A binary tree is a tree data structure in which each node has at most two
  * children, which are referred to as the left child and the right child. The
- * tree is made by nodes which data are the elements inserted in the tree.
+ * tree is made by nodes which data are the elements inserted in the tree. A
+ * binary tree is iterable, and its default iteration follows the tree order.
  * 
  * @author Matheus Alves dos Santos
  * 
  */
-public interface BinaryTree<T> {
+public interface BinaryTree<T> extends Iterable<T> {
 
 	/**
 	 * Returns true, if the binary tree is empty, or false, otherwise.
@@ -95,4 +98,34 @@ public interface BinaryTree<T> {
 	 */
 	public T[] postOrder();
 
-}
\ No newline at end of file
+	/**
+	 * Returns a lazy iterator over the binary tree elements, following the binary
+	 * tree order. The tree must not be modified while the iterator is being used.
+	 * 
+	 * @return an iterator over the elements in order.
+	 * 
+	 */
+	@Override
+	public Iterator<T> iterator();
+
+	/**
+	 * Returns a lazy iterator over the binary tree elements, following the binary
+	 * tree pre-order. The tree must not be modified while the iterator is being
+	 * used.
+	 * 
+	 * @return an iterator over the elements in pre-order.
+	 * 
+	 */
+	public Iterator<T> preOrderIterator();
+
+	/**
+	 * Returns a lazy iterator over the binary tree elements, following the binary
+	 * tree post-order. The tree must not be modified while the iterator is being
+	 * used.
+	 * 
+	 * @return an iterator over the elements in post-order.
+	 * 
+	 */
+	public Iterator<T> postOrderIterator();
+
+}
@@ -0,0 +1,92 @@
+package abstractions;
+
+/**
+ * A skip list is a data structure that allows fast search within an ordered
+ * sequence of elements. Fast search is made possible by maintaining a linked
+ * hierarchy and skipping over some elements. Unlike the SkipList, whose keys
+ * are int values, this skip list orders its elements by K-typed comparable
+ * keys, and each key is associated to a V-typed value.
+ * 
+ * @author Matheus Alves dos Santos
+ * 
+ */
+public interface ComparableSkipList<K extends Comparable<K>, V> {
+
+	/**
+	 * Returns true, if the skip list is empty, or false, otherwise.
+	 * 
+	 * @return the boolean that indicates if the skip list is empty.
+	 * 
+	 */
+	public boolean isEmpty();
+
+	/**
+	 * Returns the number of elements contained in the skip list. The sentinel nodes
+	 * are not considered.
+	 * 
+	 * @return the size of the skip list.
+	 * 
+	 */
+	public int size();
+
+	/**
+	 * Returns the height of the highest node of the skip list (the sentinel nodes
+	 * are not considered). Returns zero if the skip list is empty.
+	 * 
+	 * @return the height of the highest node of the skip list.
+	 * 
+	 */
+	public int height();
+
+	/**
+	 * Inserts a new element in the skip list, choosing the height of its node. If
+	 * the skip list already contains a node with the same key, this method only
+	 * updates the node value.
+	 * 
+	 * @param key   The key for access of the value to be inserted.
+	 * @param value The value to be inserted.
+	 * 
+	 */
+	public void insert(K key, V value);
+
+	/**
+	 * Inserts a new element (using the given height) in the skip list. If the skip
+	 * list already contains a node with the same key, this method only updates the
+	 * node value.
+	 * 
+	 * @param key    The key for access of the value to be inserted.
+	 * @param value  The value to be inserted.
+	 * @param height The height of the new node that will be created.
+	 * 
+	 */
+	public void insert(K key, V value, int height);
+
+	/**
+	 * Removes the element with the given key from the skip list. If the given key
+	 * is not present in any of the skip list nodes, it remains unchanged.
+	 * 
+	 * @param key The key of the element to be removed.
+	 * 
+	 */
+	public void remove(K key);
+
+	/**
+	 * Searches for the value associated to the given key in the skip list. It will
+	 * return null if the skip list does not contain the key.
+	 * 
+	 * @param key the key being searched for.
+	 * 
+	 * @return the value associated to the given key, or null.
+	 * 
+	 */
+	public V search(K key);
+
+	/**
+	 * Returns an array containing all keys of the skip list in order.
+	 * 
+	 * @return the array containing all keys of the skip list.
+	 * 
+	 */
+	public K[] keys();
+
+}
@@ -1,5 +1,7 @@
 package abstractions;
 
+import java.util.Iterator;
+
 import skipList.SkipListNode;
 
 /**
@@ -65,6 +67,97 @@ public interface SkipList<T> {
 	 */
 	public SkipListNode<T> search(int key);
 
+	/**
+	 * Returns the node containing the smallest key greater than or equal to the
+	 * given key. It will return null if there is no such node.
+	 * 
+	 * @param key the key being searched for.
+	 * 
+	 * @return the node containing the least key not smaller than the given one, or
+	 *         null.
+	 * 
+	 */
+	public SkipListNode<T> ceiling(int key);
+
+	/**
+	 * Returns the node containing the greatest key smaller than or equal to the
+	 * given key. It will return null if there is no such node.
+	 * 
+	 * @param key the key being searched for.
+	 * 
+	 * @return the node containing the greatest key not greater than the given one,
+	 *         or null.
+	 * 
+	 */
+	public SkipListNode<T> floor(int key);
+
+	/**
+	 * Returns the node containing the smallest key strictly greater than the given
+	 * key. It will return null if there is no such node.
+	 * 
+	 * @param key the key being searched for.
+	 * 
+	 * @return the node containing the least key greater than the given one, or
+	 *         null.
+	 * 
+	 */
+	public SkipListNode<T> higher(int key);
+
+	/**
+	 * Returns the node containing the greatest key strictly smaller than the given
+	 * key. It will return null if there is no such node.
+	 * 
+	 * @param key the key being searched for.
+	 * 
+	 * @return the node containing the greatest key smaller than the given one, or
+	 *         null.
+	 * 
+	 */
+	public SkipListNode<T> lower(int key);
+
+	/**
+	 * Returns the smallest key of the skip list.
+	 * 
+	 * @return the smallest key of the skip list.
+	 * 
+	 * @throws java.util.NoSuchElementException if the skip list is empty.
+	 * 
+	 */
+	public int firstKey();
+
+	/**
+	 * Returns the greatest key of the skip list.
+	 * 
+	 * @return the greatest key of the skip list.
+	 * 
+	 * @throws java.util.NoSuchElementException if the skip list is empty.
+	 * 
+	 */
+	public int lastKey();
+
+	/**
+	 * Removes the node containing the smallest key from the skip list and returns
+	 * it. It will return null if the skip list is empty.
+	 * 
+	 * @return the removed node, or null.
+	 * 
+	 */
+	public SkipListNode<T> pollFirst();
+
+	/**
+	 * Returns an iterator over the nodes whose keys are between lo and hi (both
+	 * inclusive), in ascending order of keys. Only the first node of the range is
+	 * searched for; the others are visited lazily through the bottom level, so
+	 * the skip list must not be changed during the iteration.
+	 * 
+	 * @param lo the smallest key of the range.
+	 * @param hi the greatest key of the range.
+	 * 
+	 * @return an iterator over the nodes of the range.
+	 * 
+	 */
+	public Iterator<SkipListNode<T>> range(int lo, int hi);
+
 	/**
 	 * Returns an array containing all nodes (including sentinel nodes) of the skip
 	 * list in order.
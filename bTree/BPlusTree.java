@@ -0,0 +1,777 @@
+package bTree;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A B+ tree is a self-balancing search tree whose nodes hold many elements
+ * instead of one. Every element is stored in the leaves, which are all at the
+ * same depth and are linked to each other in order, while the internal nodes
+ * only hold separators used to guide the searches. The maximum number of
+ * children of an internal node (the order, or fan-out) is configurable, and
+ * every node except the root is kept at least half full.
+ * 
+ * Since a node occupies a few contiguous arrays, a search visits about
+ * log(n)/log(order) nodes instead of the log(n) nodes of a binary tree, which
+ * means several times fewer cache misses. The linked leaves make the successor,
+ * the predecessor and the range scans sequential walks through the leaves.
+ * Duplicated elements are allowed.
+ * 
+ * @author Matheus Alves dos Santos
+ * 
+ */
+public class BPlusTree<T extends Comparable<T>> implements Iterable<T> {
+
+	private static final int DEFAULT_ORDER = 64;
+
+	private Node<T> root;
+	private LeafNode<T> first;
+	private LeafNode<T> last;
+	private int order;
+	private int size;
+	private int height;
+
+	/**
+	 * Constructs an empty BPlusTree whose order is defined by the constant
+	 * DEFAULT_ORDER above (originally 64).
+	 * 
+	 */
+	public BPlusTree() {
+		this(DEFAULT_ORDER);
+	}
+
+	/**
+	 * Constructs an empty BPlusTree whose internal nodes have at most the given
+	 * number of children and whose leaves hold at most (order - 1) elements.
+	 * 
+	 * @param order the maximum number of children of an internal node.
+	 * 
+	 * @throws IllegalArgumentException if the given order is smaller than 3.
+	 * 
+	 */
+	public BPlusTree(int order) {
+		if (order < 3) {
+			throw new IllegalArgumentException("The order of a B+ tree must be at least 3.");
+		}
+
+		this.order = order;
+		this.clear();
+	}
+
+	public int getOrder() {
+		return this.order;
+	}
+
+	/**
+	 * Returns true, if the tree is empty, or false, otherwise.
+	 * 
+	 * @return the boolean that indicates if the tree is empty.
+	 * 
+	 */
+	public boolean isEmpty() {
+		return (this.size == 0);
+	}
+
+	/**
+	 * Returns the number of elements contained in the tree.
+	 * 
+	 * @return the size of the tree.
+	 * 
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Returns the height of the tree, which is the number of levels above the
+	 * leaves. A tree whose root is a leaf has height 0, and an empty tree has
+	 * height -1.
+	 * 
+	 * @return the tree height.
+	 * 
+	 */
+	public int height() {
+		return (this.isEmpty() ? -1 : this.height);
+	}
+
+	/**
+	 * Removes all the elements of the tree, leaving an empty leaf as its root.
+	 * 
+	 */
+	public void clear() {
+		this.first = new LeafNode<T>(this.order);
+		this.last = this.first;
+		this.root = this.first;
+		this.size = 0;
+		this.height = 0;
+	}
+
+	/**
+	 * Inserts a new element at the tree. Null elements are not allowed. If the
+	 * given element is null, the tree will remain unchanged. An element equal to
+	 * others already in the tree is inserted after them.
+	 * 
+	 * @param element the element to be inserted.
+	 * 
+	 */
+	public void insert(T element) {
+		if (element != null) {
+			Node<T> sibling = this.insert(this.root, element);
+
+			if (sibling != null) {
+				InternalNode<T> newRoot = new InternalNode<T>(this.order);
+
+				newRoot.keys[0] = sibling.splitKey;
+				newRoot.children[0] = this.root;
+				newRoot.children[1] = sibling;
+				newRoot.count = 1;
+				sibling.splitKey = null;
+
+				this.root = newRoot;
+				this.height++;
+			}
+
+			this.size++;
+		}
+	}
+
+	/**
+	 * Removes an element from the tree. If the tree does not contain the element,
+	 * the tree must remain unchanged.
+	 * 
+	 * @param element the element to be removed.
+	 * 
+	 */
+	public void remove(T element) {
+		if ((element != null) && this.remove(this.root, element)) {
+			if ((this.root instanceof InternalNode) && (this.root.count == 0)) {
+				this.root = ((InternalNode<T>) this.root).children[0];
+				this.height--;
+			}
+
+			this.size--;
+		}
+	}
+
+	/**
+	 * Returns true, if the tree contains the given element, or false, otherwise.
+	 * 
+	 * @param element the element being searched for.
+	 * 
+	 * @return the boolean that indicates if the element is in the tree.
+	 * 
+	 */
+	public boolean contains(T element) {
+		return (this.search(element) != null);
+	}
+
+	/**
+	 * Returns the element of the tree that is equal to the given one, or null if
+	 * the tree does not contain it.
+	 * 
+	 * @param element the element being searched for.
+	 * 
+	 * @return the element found (or null, if it is not in the tree).
+	 * 
+	 */
+	public T search(T element) {
+		T found = null;
+
+		if (element != null) {
+			LeafNode<T> leaf = this.findLeaf(element);
+			int position = lowerBound(leaf, element);
+
+			if ((position == leaf.count) && (leaf.next != null)) {
+				leaf = leaf.next;
+				position = 0;
+			}
+
+			if ((position < leaf.count) && (leaf.keys[position].compareTo(element) == 0)) {
+				found = leaf.keys[position];
+			}
+		}
+
+		return found;
+	}
+
+	/**
+	 * Returns the smallest element of the tree, or null if the tree is empty.
+	 * 
+	 * @return the smallest element of the tree.
+	 * 
+	 */
+	public T minimum() {
+		return (this.isEmpty() ? null : this.first.keys[0]);
+	}
+
+	/**
+	 * Returns the greatest element of the tree, or null if the tree is empty.
+	 * 
+	 * @return the greatest element of the tree.
+	 * 
+	 */
+	public T maximum() {
+		return (this.isEmpty() ? null : this.last.keys[this.last.count - 1]);
+	}
+
+	/**
+	 * Returns the element that is immediately smaller than the given element. If
+	 * the given element is not in the tree or if it has no predecessor in the
+	 * tree, this method returns null.
+	 * 
+	 * @param element the element whose predecessor is being looked for.
+	 * 
+	 * @return the predecessor of the given element.
+	 * 
+	 */
+	public T predecessor(T element) {
+		T predecessor = null;
+
+		if (this.contains(element)) {
+			LeafNode<T> leaf = this.findLeaf(element);
+			int position = lowerBound(leaf, element) - 1;
+
+			if ((position < 0) && (leaf.previous != null)) {
+				leaf = leaf.previous;
+				position = leaf.count - 1;
+			}
+
+			if (position >= 0) {
+				predecessor = leaf.keys[position];
+			}
+		}
+
+		return predecessor;
+	}
+
+	/**
+	 * Returns the element that is immediately greater than the given element. If
+	 * the given element is not in the tree or if it has no successor in the tree,
+	 * this method returns null.
+	 * 
+	 * @param element the element whose successor is being looked for.
+	 * 
+	 * @return the successor of the given element.
+	 * 
+	 */
+	public T successor(T element) {
+		T successor = null;
+
+		if (this.contains(element)) {
+			LeafNode<T> leaf = this.findLeaf(element);
+			int position = lowerBound(leaf, element);
+
+			while ((leaf != null) && (successor == null)) {
+				while ((position < leaf.count) && (leaf.keys[position].compareTo(element) == 0)) {
+					position++;
+				}
+
+				if (position < leaf.count) {
+					successor = leaf.keys[position];
+				} else {
+					leaf = leaf.next;
+					position = 0;
+				}
+			}
+		}
+
+		return successor;
+	}
+
+	/**
+	 * Creates an array containing the tree elements, filled by walking through the
+	 * linked leaves.
+	 * 
+	 * @return a ordered array containing the tree elements.
+	 * 
+	 */
+	@SuppressWarnings("unchecked")
+	public T[] order() {
+		T[] ordered = (T[]) new Comparable[this.size];
+		int index = 0;
+
+		for (LeafNode<T> leaf = this.first; leaf != null; leaf = leaf.next) {
+			System.arraycopy(leaf.keys, 0, ordered, index, leaf.count);
+			index += leaf.count;
+		}
+
+		return ordered;
+	}
+
+	/**
+	 * Returns a lazy iterator over the tree elements, following the tree order.
+	 * The tree must not be modified while the iterator is being used.
+	 * 
+	 * @return an iterator over the elements in order.
+	 * 
+	 */
+	@Override
+	public Iterator<T> iterator() {
+		return new LeafIterator(this.first, 0, null);
+	}
+
+	/**
+	 * Returns a lazy iterator over the elements between lo and hi (both
+	 * inclusive), following the tree order. A null bound means that the range is
+	 * unbounded on that side. The first element is found in O(log n) time and each
+	 * following one is read from the linked leaves.
+	 * 
+	 * @param lo the smallest element of the range (or null).
+	 * @param hi the greatest element of the range (or null).
+	 * 
+	 * @return an iterator over the elements of the range.
+	 * 
+	 */
+	public Iterator<T> range(T lo, T hi) {
+		LeafNode<T> leaf = this.first;
+		int position = 0;
+
+		if (lo != null) {
+			leaf = this.findLeaf(lo);
+			position = lowerBound(leaf, lo);
+		}
+
+		return new LeafIterator(leaf, position, hi);
+	}
+
+	// THE METHODS BELOW LOCATE THE ELEMENTS INSIDE THE NODES.
+
+	/**
+	 * Returns the first position of the given node whose key is not smaller than
+	 * the given element (or the number of keys, if there is none).
+	 * 
+	 */
+	private static <T extends Comparable<T>> int lowerBound(Node<T> node, T element) {
+		int low = 0;
+		int high = node.count;
+
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+
+			if (node.keys[middle].compareTo(element) < 0) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+
+		return low;
+	}
+
+	/**
+	 * Returns the first position of the given node whose key is greater than the
+	 * given element (or the number of keys, if there is none).
+	 * 
+	 */
+	private static <T extends Comparable<T>> int upperBound(Node<T> node, T element) {
+		int low = 0;
+		int high = node.count;
+
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+
+			if (node.keys[middle].compareTo(element) <= 0) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+
+		return low;
+	}
+
+	/**
+	 * Descends to the leftmost leaf that may contain the given element. Any
+	 * occurrence of the element is either in this leaf or at the beginning of the
+	 * following leaves.
+	 * 
+	 */
+	private LeafNode<T> findLeaf(T element) {
+		Node<T> node = this.root;
+
+		while (node instanceof InternalNode) {
+			node = ((InternalNode<T>) node).children[lowerBound(node, element)];
+		}
+
+		return (LeafNode<T>) node;
+	}
+
+	// THE METHODS BELOW INSERT AN ELEMENT, SPLITTING THE FULL NODES.
+
+	/**
+	 * Inserts the given element in the subtree whose root is the given node. If
+	 * the node overflows, it is split and its new right sibling is returned, with
+	 * the key that must be inserted in the parent stored in its splitKey.
+	 * 
+	 * @param node    the root of the subtree.
+	 * @param element the element to be inserted.
+	 * 
+	 * @return the new right sibling of the node (or null, if it was not split).
+	 * 
+	 */
+	private Node<T> insert(Node<T> node, T element) {
+		Node<T> sibling = null;
+		int position = upperBound(node, element);
+
+		if (node instanceof LeafNode) {
+			node.insertKey(position, element);
+		}
+
+		else {
+			InternalNode<T> internal = (InternalNode<T>) node;
+			Node<T> childSibling = this.insert(internal.children[position], element);
+
+			if (childSibling != null) {
+				internal.insertKey(position, childSibling.splitKey);
+				internal.insertChild(position + 1, childSibling);
+				childSibling.splitKey = null;
+			}
+		}
+
+		if (node.count == this.order) {
+			sibling = this.split(node);
+		}
+
+		return sibling;
+	}
+
+	private Node<T> split(Node<T> node) {
+		Node<T> sibling;
+		int middle = node.count / 2;
+
+		if (node instanceof LeafNode) {
+			LeafNode<T> leaf = (LeafNode<T>) node;
+			LeafNode<T> right = new LeafNode<T>(this.order);
+
+			right.count = leaf.count - middle;
+			System.arraycopy(leaf.keys, middle, right.keys, 0, right.count);
+			leaf.clearKeys(middle, leaf.count);
+			leaf.count = middle;
+
+			right.next = leaf.next;
+			right.previous = leaf;
+			if (leaf.next != null) {
+				leaf.next.previous = right;
+			} else {
+				this.last = right;
+			}
+			leaf.next = right;
+
+			right.splitKey = right.keys[0];
+			sibling = right;
+		}
+
+		else {
+			InternalNode<T> internal = (InternalNode<T>) node;
+			InternalNode<T> right = new InternalNode<T>(this.order);
+
+			right.count = internal.count - middle - 1;
+			System.arraycopy(internal.keys, middle + 1, right.keys, 0, right.count);
+			System.arraycopy(internal.children, middle + 1, right.children, 0, right.count + 1);
+
+			right.splitKey = internal.keys[middle];
+			internal.clearKeys(middle, internal.count);
+			internal.clearChildren(middle + 1, internal.count + 1);
+			internal.count = middle;
+
+			sibling = right;
+		}
+
+		return sibling;
+	}
+
+	// THE METHODS BELOW REMOVE AN ELEMENT, MERGING THE UNDERFLOWED NODES.
+
+	/**
+	 * Removes the given element from the subtree whose root is the given node. As
+	 * equal elements may be spread through neighbor leaves, the children are
+	 * tried from the leftmost one that may contain the element while the
+	 * separators are still equal to it.
+	 * 
+	 * @param node    the root of the subtree.
+	 * @param element the element to be removed.
+	 * 
+	 * @return the boolean that indicates if the element was removed.
+	 * 
+	 */
+	private boolean remove(Node<T> node, T element) {
+		boolean removed = false;
+		int position = lowerBound(node, element);
+
+		if (node instanceof LeafNode) {
+			if ((position < node.count) && (node.keys[position].compareTo(element) == 0)) {
+				node.removeKey(position);
+				removed = true;
+			}
+		}
+
+		else {
+			InternalNode<T> internal = (InternalNode<T>) node;
+			boolean searching = true;
+
+			while (searching) {
+				removed = this.remove(internal.children[position], element);
+
+				if (removed) {
+					this.rebalance(internal, position);
+				}
+
+				searching = !removed && (position < internal.count)
+						&& (internal.keys[position].compareTo(element) == 0);
+				position++;
+			}
+		}
+
+		return removed;
+	}
+
+	/**
+	 * Restores the minimum occupation of the child stored in the given position of
+	 * the given parent, either borrowing one key from a sibling or merging it with
+	 * a sibling.
+	 * 
+	 * @param parent   the parent of the child that may have underflowed.
+	 * @param position the position of the child.
+	 * 
+	 */
+	private void rebalance(InternalNode<T> parent, int position) {
+		int minimum = (this.order - 1) / 2;
+		Node<T> child = parent.children[position];
+
+		if (child.count < minimum) {
+			Node<T> left = (position > 0) ? parent.children[position - 1] : null;
+			Node<T> right = (position < parent.count) ? parent.children[position + 1] : null;
+
+			if ((left != null) && (left.count > minimum)) {
+				this.borrowFromLeft(parent, position);
+			} else if ((right != null) && (right.count > minimum)) {
+				this.borrowFromRight(parent, position);
+			} else if (left != null) {
+				this.merge(parent, position - 1);
+			} else {
+				this.merge(parent, position);
+			}
+		}
+	}
+
+	private void borrowFromLeft(InternalNode<T> parent, int position) {
+		Node<T> child = parent.children[position];
+		Node<T> left = parent.children[position - 1];
+
+		if (child instanceof LeafNode) {
+			child.insertKey(0, left.keys[left.count - 1]);
+			left.removeKey(left.count - 1);
+			parent.keys[position - 1] = child.keys[0];
+		}
+
+		else {
+			InternalNode<T> internalChild = (InternalNode<T>) child;
+			InternalNode<T> internalLeft = (InternalNode<T>) left;
+
+			internalChild.insertKey(0, parent.keys[position - 1]);
+			internalChild.insertChild(0, internalLeft.children[internalLeft.count]);
+			parent.keys[position - 1] = internalLeft.keys[internalLeft.count - 1];
+
+			internalLeft.children[internalLeft.count] = null;
+			internalLeft.removeKey(internalLeft.count - 1);
+		}
+	}
+
+	private void borrowFromRight(InternalNode<T> parent, int position) {
+		Node<T> child = parent.children[position];
+		Node<T> right = parent.children[position + 1];
+
+		if (child instanceof LeafNode) {
+			child.insertKey(child.count, right.keys[0]);
+			right.removeKey(0);
+			parent.keys[position] = right.keys[0];
+		}
+
+		else {
+			InternalNode<T> internalChild = (InternalNode<T>) child;
+			InternalNode<T> internalRight = (InternalNode<T>) right;
+
+			internalChild.insertKey(internalChild.count, parent.keys[position]);
+			internalChild.children[internalChild.count] = internalRight.children[0];
+			parent.keys[position] = internalRight.keys[0];
+
+			internalRight.removeKey(0);
+			internalRight.removeChild(0);
+		}
+	}
+
+	/**
+	 * Merges the child stored in the given position of the given parent with its
+	 * right sibling, removing the separator between them from the parent.
+	 * 
+	 * @param parent   the parent of the children being merged.
+	 * @param position the position of the left child.
+	 * 
+	 */
+	private void merge(InternalNode<T> parent, int position) {
+		Node<T> left = parent.children[position];
+		Node<T> right = parent.children[position + 1];
+
+		if (left instanceof LeafNode) {
+			LeafNode<T> leftLeaf = (LeafNode<T>) left;
+			LeafNode<T> rightLeaf = (LeafNode<T>) right;
+
+			System.arraycopy(rightLeaf.keys, 0, leftLeaf.keys, leftLeaf.count, rightLeaf.count);
+			leftLeaf.count += rightLeaf.count;
+
+			leftLeaf.next = rightLeaf.next;
+			if (rightLeaf.next != null) {
+				rightLeaf.next.previous = leftLeaf;
+			} else {
+				this.last = leftLeaf;
+			}
+		}
+
+		else {
+			InternalNode<T> leftInternal = (InternalNode<T>) left;
+			InternalNode<T> rightInternal = (InternalNode<T>) right;
+
+			leftInternal.keys[leftInternal.count] = parent.keys[position];
+			System.arraycopy(rightInternal.keys, 0, leftInternal.keys, leftInternal.count + 1, rightInternal.count);
+			System.arraycopy(rightInternal.children, 0, leftInternal.children, leftInternal.count + 1,
+					rightInternal.count + 1);
+			leftInternal.count += rightInternal.count + 1;
+		}
+
+		parent.removeKey(position);
+		parent.removeChild(position + 1);
+	}
+
+	/**
+	 * A lazy iterator that walks through the linked leaves, from the given
+	 * position of the given leaf, until an element greater than hi is found.
+	 * 
+	 */
+	private class LeafIterator implements Iterator<T> {
+
+		private LeafNode<T> leaf;
+		private int position;
+		private T hi;
+
+		public LeafIterator(LeafNode<T> leaf, int position, T hi) {
+			this.leaf = leaf;
+			this.position = position;
+			this.hi = hi;
+			this.skipExhaustedLeaves();
+		}
+
+		@Override
+		public boolean hasNext() {
+			return ((this.leaf != null)
+					&& ((this.hi == null) || (this.leaf.keys[this.position].compareTo(this.hi) <= 0)));
+		}
+
+		@Override
+		public T next() {
+			if (!this.hasNext()) {
+				throw new NoSuchElementException("There are no more elements in the range.");
+			}
+
+			T element = this.leaf.keys[this.position++];
+			this.skipExhaustedLeaves();
+
+			return element;
+		}
+
+		private void skipExhaustedLeaves() {
+			while ((this.leaf != null) && (this.position >= this.leaf.count)) {
+				this.leaf = this.leaf.next;
+				this.position = 0;
+			}
+		}
+
+	}
+
+	/**
+	 * A node of the B+ tree. Its keys are kept sorted in an array with room for
+	 * one extra key, so that a node may overflow before being split.
+	 * 
+	 */
+	private static abstract class Node<T extends Comparable<T>> {
+
+		protected T[] keys;
+		protected int count;
+		protected T splitKey;
+
+		@SuppressWarnings("unchecked")
+		public Node(int order) {
+			this.keys = (T[]) new Comparable[order];
+			this.count = 0;
+		}
+
+		public void insertKey(int position, T key) {
+			System.arraycopy(this.keys, position, this.keys, position + 1, this.count - position);
+			this.keys[position] = key;
+			this.count++;
+		}
+
+		public void removeKey(int position) {
+			System.arraycopy(this.keys, position + 1, this.keys, position, this.count - position - 1);
+			this.keys[--this.count] = null;
+		}
+
+		public void clearKeys(int from, int to) {
+			for (int i = from; i < to; i++) {
+				this.keys[i] = null;
+			}
+		}
+
+	}
+
+	/**
+	 * A leaf of the B+ tree, which stores the elements and is linked to its
+	 * neighbor leaves.
+	 * 
+	 */
+	private static class LeafNode<T extends Comparable<T>> extends Node<T> {
+
+		private LeafNode<T> previous;
+		private LeafNode<T> next;
+
+		public LeafNode(int order) {
+			super(order);
+		}
+
+	}
+
+	/**
+	 * An internal node of the B+ tree. The child i holds the elements between the
+	 * separators (i - 1) and i, so an internal node has one child more than keys.
+	 * The children are always inserted after and removed after the corresponding
+	 * key, so the count already reflects the new number of keys.
+	 * 
+	 */
+	private static class InternalNode<T extends Comparable<T>> extends Node<T> {
+
+		private Node<T>[] children;
+
+		@SuppressWarnings("unchecked")
+		public InternalNode(int order) {
+			super(order);
+			this.children = new Node[order + 1];
+		}
+
+		public void insertChild(int position, Node<T> child) {
+			System.arraycopy(this.children, position, this.children, position + 1, this.count - position);
+			this.children[position] = child;
+		}
+
+		public void removeChild(int position) {
+			System.arraycopy(this.children, position + 1, this.children, position, this.count + 1 - position);
+			this.children[this.count + 1] = null;
+		}
+
+		public void clearChildren(int from, int to) {
+			for (int i = from; i < to; i++) {
+				this.children[i] = null;
+			}
+		}
+
+	}
+
+}
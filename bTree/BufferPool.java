@@ -0,0 +1,275 @@
+package bTree;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A buffer pool keeps a bounded number of pages of a file in memory. A page is
+ * pinned while it is being used and, once unpinned, it may be evicted to make
+ * room for another page. The victim is chosen by the CLOCK algorithm, an
+ * approximation of LRU: a hand sweeps the frames circularly, giving a second
+ * chance to the recently referenced ones.
+ * 
+ * The changes are grouped in transactions. A dirty page is only written back to
+ * the file after its transaction was committed to the WriteAheadLog (no-steal),
+ * so the file never holds changes that the log could not recover. When no frame
+ * can be evicted, the pool grows beyond its capacity instead of failing.
+ * 
+ * @author Matheus Alves dos Santos
+ * 
+ */
+public class BufferPool {
+
+	private FileChannel file;
+	private WriteAheadLog log;
+	private int pageSize;
+	private int capacity;
+
+	private Map<Integer, Frame> frames;
+	private List<Frame> clock;
+	private List<Frame> uncommitted;
+	private int hand;
+
+	private long reads;
+	private long writes;
+
+	/**
+	 * Constructs a BufferPool over the given file, whose changes are logged in the
+	 * given WriteAheadLog.
+	 * 
+	 * @param file     the channel of the paged file.
+	 * @param log      the log where the transactions are committed.
+	 * @param pageSize the size, in bytes, of each page.
+	 * @param capacity the number of pages kept in memory.
+	 * 
+	 */
+	public BufferPool(FileChannel file, WriteAheadLog log, int pageSize, int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("The buffer pool must hold at least one page.");
+		}
+
+		this.file = file;
+		this.log = log;
+		this.pageSize = pageSize;
+		this.capacity = capacity;
+
+		this.frames = new HashMap<Integer, Frame>();
+		this.clock = new ArrayList<Frame>();
+		this.uncommitted = new ArrayList<Frame>();
+		this.hand = 0;
+	}
+
+	public int getCapacity() {
+		return this.capacity;
+	}
+
+	/**
+	 * Returns the number of pages read from the file since the pool was created.
+	 * 
+	 * @return the number of page reads.
+	 * 
+	 */
+	public long getReads() {
+		return this.reads;
+	}
+
+	/**
+	 * Returns the number of pages written to the file since the pool was created.
+	 * 
+	 * @return the number of page writes.
+	 * 
+	 */
+	public long getWrites() {
+		return this.writes;
+	}
+
+	/**
+	 * Pins the page with the given id and returns its contents, reading it from the
+	 * file if needed. A page beyond the end of the file is filled with zeros.
+	 * Every call to this method must be followed by a call to unpin.
+	 * 
+	 * @param pageId the id of the page.
+	 * 
+	 * @return the contents of the page.
+	 * 
+	 * @throws IOException if the page could not be read (or a victim written).
+	 * 
+	 */
+	public ByteBuffer fetch(int pageId) throws IOException {
+		Frame frame = this.frames.get(pageId);
+
+		if (frame == null) {
+			frame = this.victim();
+			frame.pageId = pageId;
+			frame.page.clear();
+
+			long position = (long) pageId * this.pageSize;
+			while (frame.page.hasRemaining()
+					&& (this.file.read(frame.page, position + frame.page.position()) >= 0)) {
+			}
+
+			while (frame.page.hasRemaining()) {
+				frame.page.put((byte) 0);
+			}
+
+			this.frames.put(pageId, frame);
+			this.reads++;
+		}
+
+		frame.pins++;
+		frame.referenced = true;
+
+		return frame.page;
+	}
+
+	/**
+	 * Unpins the page with the given id. If the page was changed, it becomes part
+	 * of the current transaction.
+	 * 
+	 * @param pageId the id of the page.
+	 * @param dirty  the boolean that indicates if the page was changed.
+	 * 
+	 */
+	public void unpin(int pageId, boolean dirty) {
+		Frame frame = this.frames.get(pageId);
+		frame.pins--;
+
+		if (dirty && !frame.pending) {
+			frame.dirty = true;
+			frame.pending = true;
+			this.uncommitted.add(frame);
+		}
+	}
+
+	/**
+	 * Commits the current transaction, appending the images of its pages to the
+	 * log. After this method returns, the changes survive a crash and the pages
+	 * may be evicted.
+	 * 
+	 * @throws IOException if the transaction could not be logged.
+	 * 
+	 */
+	public void commit() throws IOException {
+		if (!this.uncommitted.isEmpty()) {
+			List<Integer> pageIds = new ArrayList<Integer>();
+			List<ByteBuffer> pages = new ArrayList<ByteBuffer>();
+
+			for (Frame frame : this.uncommitted) {
+				pageIds.add(frame.pageId);
+				pages.add(frame.page);
+			}
+
+			this.log.commit(pageIds, pages);
+
+			for (Frame frame : this.uncommitted) {
+				frame.pending = false;
+			}
+
+			this.uncommitted.clear();
+		}
+	}
+
+	/**
+	 * Writes every committed dirty page to the file, forces the file and
+	 * truncates the log, whose records are no longer needed.
+	 * 
+	 * @throws IOException if the pages could not be written.
+	 * 
+	 */
+	public void checkpoint() throws IOException {
+		for (Frame frame : this.clock) {
+			if (frame.dirty && !frame.pending) {
+				this.write(frame);
+			}
+		}
+
+		this.file.force(true);
+
+		if (this.uncommitted.isEmpty()) {
+			this.log.truncate();
+		}
+	}
+
+	/**
+	 * Chooses the frame that will hold a new page. While the pool is not full, a
+	 * new frame is created. Otherwise, the CLOCK hand looks for an unpinned,
+	 * committed frame that was not recently referenced, writing it back if it is
+	 * dirty.
+	 * 
+	 */
+	private Frame victim() throws IOException {
+		Frame victim = null;
+
+		if (this.clock.size() < this.capacity) {
+			victim = new Frame(this.pageSize);
+			this.clock.add(victim);
+		}
+
+		for (int step = 0; (victim == null) && (step < (2 * this.clock.size())); step++) {
+			Frame frame = this.clock.get(this.hand);
+			this.hand = (this.hand + 1) % this.clock.size();
+
+			if ((frame.pins == 0) && !frame.pending) {
+				if (frame.referenced) {
+					frame.referenced = false;
+				} else {
+					victim = frame;
+				}
+			}
+		}
+
+		if (victim == null) {
+			victim = new Frame(this.pageSize);
+			this.clock.add(victim);
+		}
+
+		else if (victim.pageId >= 0) {
+			if (victim.dirty) {
+				this.write(victim);
+			}
+
+			this.frames.remove(victim.pageId);
+		}
+
+		return victim;
+	}
+
+	private void write(Frame frame) throws IOException {
+		ByteBuffer page = frame.page.duplicate();
+		long position = (long) frame.pageId * this.pageSize;
+		page.clear();
+
+		while (page.hasRemaining()) {
+			this.file.write(page, position + page.position());
+		}
+
+		frame.dirty = false;
+		this.writes++;
+	}
+
+	/**
+	 * A frame of the pool, which holds one page and its state.
+	 * 
+	 */
+	private static class Frame {
+
+		private ByteBuffer page;
+		private int pageId;
+		private int pins;
+		private boolean referenced;
+		private boolean dirty;
+		private boolean pending;
+
+		public Frame(int pageSize) {
+			this.page = ByteBuffer.allocate(pageSize);
+			this.pageId = -1;
+		}
+
+	}
+
+}
@@ -0,0 +1,1302 @@
+package bTree;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import heap.Serializer;
+
+/**
+ * A disk-backed B+ tree keeps its nodes in fixed-size pages of a file, so the
+ * index survives the process and may be much larger than the memory. The pages
+ * are accessed through a BufferPool, which keeps the most used ones (the root
+ * and the upper levels, in practice) in memory, and every insertion or removal
+ * is a transaction committed to a WriteAheadLog before returning. When the tree
+ * is opened again after a crash, the log is replayed, so the file reflects
+ * every operation that returned.
+ * 
+ * The elements are converted to bytes by a Serializer and stored in slots of
+ * keySize bytes, which bounds the size of a serialized element. The fan-out is
+ * the largest one that fits in a page. The page 0 holds the metadata of the
+ * tree (root, height, size, number of pages and the list of free pages), and
+ * the remaining pages are leaves, internal nodes or free pages. As in the
+ * BPlusTree, all the elements are in the leaves, which are linked to each
+ * other, and duplicated elements are allowed.
+ * 
+ * @author Matheus Alves dos Santos
+ * 
+ */
+public class DiskBPlusTree<T extends Comparable<T>> implements Iterable<T>, Closeable {
+
+	private static final int DEFAULT_PAGE_SIZE = 4096;
+	private static final int DEFAULT_POOL_CAPACITY = 256;
+	private static final int CHECKPOINT_PAGES = 1024;
+
+	private static final int MAGIC = 0x42505452;
+	private static final int META_PAGE = 0;
+	private static final int NONE = 0;
+
+	// OFFSETS OF THE METADATA, IN THE PAGE 0.
+	private static final int META_MAGIC = 0;
+	private static final int META_PAGE_SIZE = 4;
+	private static final int META_KEY_SIZE = 8;
+	private static final int META_ROOT = 12;
+	private static final int META_HEIGHT = 16;
+	private static final int META_SIZE = 20;
+	private static final int META_PAGE_COUNT = 24;
+	private static final int META_FREE_HEAD = 28;
+
+	// OFFSETS OF THE NODE HEADER, IN THE OTHER PAGES.
+	private static final int TYPE = 0;
+	private static final int COUNT = 4;
+	private static final int NEXT = 8;
+	private static final int PREVIOUS = 12;
+	private static final int HEADER = 16;
+
+	private static final int LEAF = 1;
+	private static final int INTERNAL = 2;
+	private static final int FREE = 3;
+
+	private FileChannel file;
+	private WriteAheadLog log;
+	private BufferPool pool;
+	private Serializer<T> serializer;
+
+	private int pageSize;
+	private int keySize;
+	private int order;
+	private int childrenOffset;
+
+	private int root;
+	private int height;
+	private int size;
+	private int pageCount;
+	private int freeHead;
+
+	private ByteArrayOutputStream keyBytes;
+	private DataOutputStream keyOutput;
+	private KeySource keySource;
+	private DataInputStream keyInput;
+
+	/**
+	 * Opens (or creates) the DiskBPlusTree stored in the given file, with pages of
+	 * DEFAULT_PAGE_SIZE bytes (originally 4096) and a buffer pool of
+	 * DEFAULT_POOL_CAPACITY pages (originally 256).
+	 * 
+	 * @param path       the file where the tree is stored.
+	 * @param serializer the serializer used to store the elements.
+	 * @param keySize    the maximum number of bytes of a serialized element.
+	 * 
+	 * @throws IOException if the file could not be opened or recovered.
+	 * 
+	 */
+	public DiskBPlusTree(Path path, Serializer<T> serializer, int keySize) throws IOException {
+		this(path, serializer, keySize, DEFAULT_PAGE_SIZE, DEFAULT_POOL_CAPACITY);
+	}
+
+	/**
+	 * Opens (or creates) the DiskBPlusTree stored in the given file. Its log is
+	 * stored in a file with the same name plus ".wal", in the same directory, and
+	 * is replayed before the tree is used. A page must have room for at least two
+	 * elements and three children, and for the metadata of the tree (32 bytes),
+	 * which is kept in the first page. The sizes are checked before any file is
+	 * opened, and checked against the ones of an existing file (and of its log)
+	 * before the log is replayed. If the tree cannot be opened, both files are
+	 * closed.
+	 * 
+	 * @param path         the file where the tree is stored.
+	 * @param serializer   the serializer used to store the elements.
+	 * @param keySize      the maximum number of bytes of a serialized element.
+	 * @param pageSize     the size, in bytes, of each page.
+	 * @param poolCapacity the number of pages kept in memory.
+	 * 
+	 * @throws IOException if the file could not be opened or recovered.
+	 * 
+	 */
+	public DiskBPlusTree(Path path, Serializer<T> serializer, int keySize, int pageSize, int poolCapacity)
+			throws IOException {
+		if (pageSize < (META_FREE_HEAD + 4)) {
+			throw new IllegalArgumentException("A page must have room for the metadata of the tree.");
+		}
+
+		if ((keySize < 1) || (((pageSize - HEADER + keySize) / (keySize + 4)) < 3)) {
+			throw new IllegalArgumentException("A page must have room for at least three children.");
+		}
+
+		this.serializer = serializer;
+		this.keySize = keySize;
+		this.pageSize = pageSize;
+		this.order = (pageSize - HEADER + keySize) / (keySize + 4);
+		this.childrenOffset = HEADER + ((this.order - 1) * keySize);
+
+		this.keyBytes = new ByteArrayOutputStream(keySize);
+		this.keyOutput = new DataOutputStream(this.keyBytes);
+		this.keySource = new KeySource();
+		this.keyInput = new DataInputStream(this.keySource);
+
+		this.file = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+
+		try {
+			this.checkSizes();
+			this.log = new WriteAheadLog(path.resolveSibling(path.getFileName() + ".wal"), pageSize);
+			this.log.recover(this.file);
+			this.pool = new BufferPool(this.file, this.log, pageSize, poolCapacity);
+
+			if (this.file.size() == 0) {
+				this.create();
+			} else {
+				this.open();
+			}
+		} catch (IOException | RuntimeException exception) {
+			this.abort(exception);
+			throw exception;
+		}
+	}
+
+	public int getOrder() {
+		return this.order;
+	}
+
+	public BufferPool getPool() {
+		return this.pool;
+	}
+
+	/**
+	 * Returns true, if the tree is empty, or false, otherwise.
+	 * 
+	 * @return the boolean that indicates if the tree is empty.
+	 * 
+	 */
+	public boolean isEmpty() {
+		return (this.size == 0);
+	}
+
+	/**
+	 * Returns the number of elements contained in the tree.
+	 * 
+	 * @return the size of the tree.
+	 * 
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Returns the height of the tree, which is the number of levels above the
+	 * leaves (or -1, if the tree is empty).
+	 * 
+	 * @return the tree height.
+	 * 
+	 */
+	public int height() {
+		return (this.isEmpty() ? -1 : this.height);
+	}
+
+	/**
+	 * Inserts a new element at the tree and commits the change. Null elements are
+	 * not allowed. If the given element is null, the tree will remain unchanged.
+	 * 
+	 * @param element the element to be inserted.
+	 * 
+	 * @throws IOException              if the change could not be committed.
+	 * @throws IllegalArgumentException if the serialized element does not fit in
+	 *                                  keySize bytes.
+	 * 
+	 */
+	public void insert(T element) throws IOException {
+		if (element != null) {
+			this.encode(element);
+			Split split = this.insert(this.root, element);
+
+			if (split != null) {
+				int newRoot = this.allocate(INTERNAL);
+				ByteBuffer page = this.pool.fetch(newRoot);
+
+				this.setKey(page, 0, split.key);
+				this.setChild(page, 0, this.root);
+				this.setChild(page, 1, split.page);
+				page.putInt(COUNT, 1);
+				this.pool.unpin(newRoot, true);
+
+				this.root = newRoot;
+				this.height++;
+			}
+
+			this.size++;
+			this.commit();
+		}
+	}
+
+	/**
+	 * Removes an element from the tree and commits the change. If the tree does
+	 * not contain the element, the tree must remain unchanged.
+	 * 
+	 * @param element the element to be removed.
+	 * 
+	 * @throws IOException if the change could not be committed.
+	 * 
+	 */
+	public void remove(T element) throws IOException {
+		if ((element != null) && this.remove(this.root, element)) {
+			ByteBuffer page = this.pool.fetch(this.root);
+			int oldRoot = this.root;
+			boolean collapse = ((page.getInt(TYPE) == INTERNAL) && (page.getInt(COUNT) == 0));
+
+			if (collapse) {
+				this.root = this.getChild(page, 0);
+				this.height--;
+			}
+
+			this.pool.unpin(oldRoot, false);
+
+			if (collapse) {
+				this.release(oldRoot);
+			}
+
+			this.size--;
+			this.commit();
+		}
+	}
+
+	/**
+	 * Returns true, if the tree contains the given element, or false, otherwise.
+	 * 
+	 * @param element the element being searched for.
+	 * 
+	 * @return the boolean that indicates if the element is in the tree.
+	 * 
+	 * @throws IOException if a page could not be read.
+	 * 
+	 */
+	public boolean contains(T element) throws IOException {
+		return (this.search(element) != null);
+	}
+
+	/**
+	 * Returns the element of the tree that is equal to the given one, or null if
+	 * the tree does not contain it.
+	 * 
+	 * @param element the element being searched for.
+	 * 
+	 * @return the element found (or null, if it is not in the tree).
+	 * 
+	 * @throws IOException if a page could not be read.
+	 * 
+	 */
+	public T search(T element) throws IOException {
+		T found = null;
+
+		if (element != null) {
+			Cursor cursor = this.lowerBound(element);
+
+			if (cursor.hasElement()) {
+				T candidate = cursor.element();
+
+				if (candidate.compareTo(element) == 0) {
+					found = candidate;
+				}
+			}
+		}
+
+		return found;
+	}
+
+	/**
+	 * Returns the smallest element of the tree, or null if the tree is empty.
+	 * 
+	 * @return the smallest element of the tree.
+	 * 
+	 * @throws IOException if a page could not be read.
+	 * 
+	 */
+	public T minimum() throws IOException {
+		Cursor cursor = this.first();
+		return (cursor.hasElement() ? cursor.element() : null);
+	}
+
+	/**
+	 * Returns the greatest element of the tree, or null if the tree is empty.
+	 * 
+	 * @return the greatest element of the tree.
+	 * 
+	 * @throws IOException if a page could not be read.
+	 * 
+	 */
+	public T maximum() throws IOException {
+		T maximum = null;
+		int pageId = this.root;
+		ByteBuffer page = this.pool.fetch(pageId);
+
+		while (page.getInt(TYPE) == INTERNAL) {
+			int child = this.getChild(page, page.getInt(COUNT));
+			this.pool.unpin(pageId, false);
+
+			pageId = child;
+			page = this.pool.fetch(pageId);
+		}
+
+		if (page.getInt(COUNT) > 0) {
+			maximum = this.getKey(page, page.getInt(COUNT) - 1);
+		}
+
+		this.pool.unpin(pageId, false);
+
+		return maximum;
+	}
+
+	/**
+	 * Returns the element that is immediately smaller than the given element. If
+	 * the given element is not in the tree or if it has no predecessor in the
+	 * tree, this method returns null.
+	 * 
+	 * @param element the element whose predecessor is being looked for.
+	 * 
+	 * @return the predecessor of the given element.
+	 * 
+	 * @throws IOException if a page could not be read.
+	 * 
+	 */
+	public T predecessor(T element) throws IOException {
+		T predecessor = null;
+
+		if (this.contains(element)) {
+			Cursor cursor = this.lowerBound(element);
+
+			if (cursor.retreat()) {
+				predecessor = cursor.element();
+			}
+		}
+
+		return predecessor;
+	}
+
+	/**
+	 * Returns the element that is immediately greater than the given element. If
+	 * the given element is not in the tree or if it has no successor in the tree,
+	 * this method returns null.
+	 * 
+	 * @param element the element whose successor is being looked for.
+	 * 
+	 * @return the successor of the given element.
+	 * 
+	 * @throws IOException if a page could not be read.
+	 * 
+	 */
+	public T successor(T element) throws IOException {
+		T successor = null;
+
+		if (this.contains(element)) {
+			Cursor cursor = this.lowerBound(element);
+
+			while (cursor.hasElement() && (cursor.element().compareTo(element) == 0)) {
+				cursor.advance();
+			}
+
+			if (cursor.hasElement()) {
+				successor = cursor.element();
+			}
+		}
+
+		return successor;
+	}
+
+	/**
+	 * Creates an array containing the tree elements, filled by walking through the
+	 * linked leaves.
+	 * 
+	 * @return a ordered array containing the tree elements.
+	 * 
+	 * @throws IOException if a page could not be read.
+	 * 
+	 */
+	@SuppressWarnings("unchecked")
+	public T[] order() throws IOException {
+		T[] ordered = (T[]) new Comparable[this.size];
+		Cursor cursor = this.first();
+
+		for (int i = 0; i < ordered.length; i++) {
+			ordered[i] = cursor.element();
+			cursor.advance();
+		}
+
+		return ordered;
+	}
+
+	/**
+	 * Returns a lazy iterator over the tree elements, following the tree order.
+	 * The tree must not be modified while the iterator is being used, and the
+	 * errors of the file are thrown as UncheckedIOException.
+	 * 
+	 * @return an iterator over the elements in order.
+	 * 
+	 */
+	@Override
+	public Iterator<T> iterator() {
+		try {
+			return new RangeIterator(this.first(), null);
+		} catch (IOException exception) {
+			throw new UncheckedIOException(exception);
+		}
+	}
+
+	/**
+	 * Returns a lazy iterator over the elements between lo and hi (both
+	 * inclusive), following the tree order. A null bound means that the range is
+	 * unbounded on that side. The tree must not be modified while the iterator is
+	 * being used, and the errors of the file are thrown as UncheckedIOException.
+	 * 
+	 * @param lo the smallest element of the range (or null).
+	 * @param hi the greatest element of the range (or null).
+	 * 
+	 * @return an iterator over the elements of the range.
+	 * 
+	 * @throws IOException if a page could not be read.
+	 * 
+	 */
+	public Iterator<T> range(T lo, T hi) throws IOException {
+		return new RangeIterator((lo == null) ? this.first() : this.lowerBound(lo), hi);
+	}
+
+	/**
+	 * Writes every committed page to the file and truncates the log. It happens
+	 * automatically when the log grows beyond CHECKPOINT_PAGES pages (originally
+	 * 1024) and when the tree is closed.
+	 * 
+	 * @throws IOException if the pages could not be written.
+	 * 
+	 */
+	public void checkpoint() throws IOException {
+		this.pool.checkpoint();
+	}
+
+	/**
+	 * Checkpoints the tree and closes its files.
+	 * 
+	 * @throws IOException if the pages could not be written.
+	 * 
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			this.checkpoint();
+		} finally {
+			this.log.close();
+			this.file.close();
+		}
+	}
+
+	// THE METHODS BELOW MANAGE THE METADATA AND THE TRANSACTIONS.
+
+	private void create() throws IOException {
+		this.pageCount = 1;
+		this.freeHead = NONE;
+		this.root = this.allocate(LEAF);
+		this.height = 0;
+		this.size = 0;
+
+		this.commit();
+	}
+
+	/**
+	 * Checks the page size and the key size stored in the metadata of an existing
+	 * data file, reading it directly (before the log is recovered), so a file
+	 * opened with the wrong sizes is rejected before its log is touched.
+	 * 
+	 */
+	private void checkSizes() throws IOException {
+		if (this.file.size() >= (META_KEY_SIZE + 4)) {
+			ByteBuffer meta = ByteBuffer.allocate(META_KEY_SIZE + 4);
+
+			while (meta.hasRemaining() && (this.file.read(meta, meta.position()) >= 0)) {
+			}
+
+			if ((meta.getInt(META_MAGIC) == MAGIC) && ((meta.getInt(META_PAGE_SIZE) != this.pageSize)
+					|| (meta.getInt(META_KEY_SIZE) != this.keySize))) {
+				throw new IllegalArgumentException("The page size and the key size must match the ones of the file.");
+			}
+		}
+	}
+
+	/**
+	 * Closes the log and the data file after the tree failed to open, keeping the
+	 * given exception as the main one.
+	 * 
+	 */
+	private void abort(Exception exception) {
+		try {
+			if (this.log != null) {
+				this.log.close();
+			}
+		} catch (IOException suppressed) {
+			exception.addSuppressed(suppressed);
+		}
+
+		try {
+			this.file.close();
+		} catch (IOException suppressed) {
+			exception.addSuppressed(suppressed);
+		}
+	}
+
+	private void open() throws IOException {
+		ByteBuffer meta = this.pool.fetch(META_PAGE);
+
+		try {
+			if (meta.getInt(META_MAGIC) != MAGIC) {
+				throw new IOException("The file does not contain a B+ tree.");
+			}
+
+			if ((meta.getInt(META_PAGE_SIZE) != this.pageSize) || (meta.getInt(META_KEY_SIZE) != this.keySize)) {
+				throw new IllegalArgumentException("The page size and the key size must match the ones of the file.");
+			}
+
+			this.root = meta.getInt(META_ROOT);
+			this.height = meta.getInt(META_HEIGHT);
+			this.size = meta.getInt(META_SIZE);
+			this.pageCount = meta.getInt(META_PAGE_COUNT);
+			this.freeHead = meta.getInt(META_FREE_HEAD);
+		} finally {
+			this.pool.unpin(META_PAGE, false);
+		}
+	}
+
+	/**
+	 * Writes the metadata to the page 0 and commits all the pages changed by the
+	 * current operation as a single transaction.
+	 * 
+	 */
+	private void commit() throws IOException {
+		ByteBuffer meta = this.pool.fetch(META_PAGE);
+
+		meta.putInt(META_MAGIC, MAGIC);
+		meta.putInt(META_PAGE_SIZE, this.pageSize);
+		meta.putInt(META_KEY_SIZE, this.keySize);
+		meta.putInt(META_ROOT, this.root);
+		meta.putInt(META_HEIGHT, this.height);
+		meta.putInt(META_SIZE, this.size);
+		meta.putInt(META_PAGE_COUNT, this.pageCount);
+		meta.putInt(META_FREE_HEAD, this.freeHead);
+
+		this.pool.unpin(META_PAGE, true);
+		this.pool.commit();
+
+		if (this.log.size() > ((long) CHECKPOINT_PAGES * this.pageSize)) {
+			this.pool.checkpoint();
+		}
+	}
+
+	/**
+	 * Returns the id of an empty node of the given type, reusing a free page when
+	 * there is one.
+	 * 
+	 */
+	private int allocate(int type) throws IOException {
+		int pageId = this.freeHead;
+
+		if (pageId != NONE) {
+			ByteBuffer page = this.pool.fetch(pageId);
+			this.freeHead = page.getInt(NEXT);
+			this.pool.unpin(pageId, false);
+		} else {
+			pageId = this.pageCount++;
+		}
+
+		ByteBuffer page = this.pool.fetch(pageId);
+		Arrays.fill(page.array(), (byte) 0);
+		page.putInt(TYPE, type);
+		this.pool.unpin(pageId, true);
+
+		return pageId;
+	}
+
+	private void release(int pageId) throws IOException {
+		ByteBuffer page = this.pool.fetch(pageId);
+
+		Arrays.fill(page.array(), (byte) 0);
+		page.putInt(TYPE, FREE);
+		page.putInt(NEXT, this.freeHead);
+		this.freeHead = pageId;
+
+		this.pool.unpin(pageId, true);
+	}
+
+	// THE METHODS BELOW READ AND WRITE THE SLOTS OF A NODE.
+
+	private int keyOffset(int position) {
+		return HEADER + (position * this.keySize);
+	}
+
+	private int childOffset(int position) {
+		return this.childrenOffset + (position * 4);
+	}
+
+	/**
+	 * Serializes the given element to the reusable key buffer, checking that it
+	 * fits in a slot.
+	 * 
+	 */
+	private byte[] encode(T element) throws IOException {
+		this.keyBytes.reset();
+		this.serializer.write(element, this.keyOutput);
+		this.keyOutput.flush();
+
+		if (this.keyBytes.size() > this.keySize) {
+			throw new IllegalArgumentException("The serialized element does not fit in " + this.keySize + " bytes.");
+		}
+
+		return this.keyBytes.toByteArray();
+	}
+
+	/**
+	 * Deserializes the key of the given slot, reading it through the reusable key
+	 * input, so the binary searches over the slots allocate only the keys.
+	 * 
+	 */
+	private T getKey(ByteBuffer page, int position) throws IOException {
+		this.keySource.point(page.array(), this.keyOffset(position), this.keySize);
+
+		return this.serializer.read(this.keyInput);
+	}
+
+	private void setKey(ByteBuffer page, int position, T key) throws IOException {
+		byte[] bytes = this.encode(key);
+		int offset = this.keyOffset(position);
+
+		Arrays.fill(page.array(), offset, offset + this.keySize, (byte) 0);
+		System.arraycopy(bytes, 0, page.array(), offset, bytes.length);
+	}
+
+	private void copyKey(ByteBuffer source, int from, ByteBuffer target, int to) {
+		System.arraycopy(source.array(), this.keyOffset(from), target.array(), this.keyOffset(to), this.keySize);
+	}
+
+	private int getChild(ByteBuffer page, int position) {
+		return page.getInt(this.childOffset(position));
+	}
+
+	private void setChild(ByteBuffer page, int position, int child) {
+		page.putInt(this.childOffset(position), child);
+	}
+
+	/**
+	 * Shifts the keys from the given position one slot to the right and
+	 * increments the count, leaving the slot of the given position free.
+	 * 
+	 */
+	private void openKey(ByteBuffer page, int position) {
+		int count = page.getInt(COUNT);
+		System.arraycopy(page.array(), this.keyOffset(position), page.array(), this.keyOffset(position + 1),
+				(count - position) * this.keySize);
+		page.putInt(COUNT, count + 1);
+	}
+
+	/**
+	 * Shifts the keys after the given position one slot to the left and
+	 * decrements the count, discarding the key of the given position.
+	 * 
+	 */
+	private void closeKey(ByteBuffer page, int position) {
+		int count = page.getInt(COUNT);
+		System.arraycopy(page.array(), this.keyOffset(position + 1), page.array(), this.keyOffset(position),
+				(count - position - 1) * this.keySize);
+		page.putInt(COUNT, count - 1);
+	}
+
+	// THE CHILDREN ARE OPENED AFTER AND CLOSED AFTER THE CORRESPONDING KEY, SO
+	// THE COUNT ALREADY REFLECTS THE NEW NUMBER OF KEYS.
+
+	private void openChild(ByteBuffer page, int position) {
+		int count = page.getInt(COUNT);
+		System.arraycopy(page.array(), this.childOffset(position), page.array(), this.childOffset(position + 1),
+				(count - position) * 4);
+	}
+
+	private void closeChild(ByteBuffer page, int position) {
+		int count = page.getInt(COUNT);
+		System.arraycopy(page.array(), this.childOffset(position + 1), page.array(), this.childOffset(position),
+				(count + 1 - position) * 4);
+	}
+
+	/**
+	 * Returns the first position of the given node whose key is not smaller (or,
+	 * if strict, is greater) than the given element.
+	 * 
+	 */
+	private int bound(ByteBuffer page, T element, boolean strict) throws IOException {
+		int low = 0;
+		int high = page.getInt(COUNT);
+
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			int comparison = this.getKey(page, middle).compareTo(element);
+
+			if ((comparison < 0) || (strict && (comparison == 0))) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+
+		return low;
+	}
+
+	// THE METHODS BELOW POSITION THE CURSORS OVER THE LEAVES.
+
+	private Cursor first() throws IOException {
+		int pageId = this.root;
+		ByteBuffer page = this.pool.fetch(pageId);
+
+		while (page.getInt(TYPE) == INTERNAL) {
+			int child = this.getChild(page, 0);
+			this.pool.unpin(pageId, false);
+
+			pageId = child;
+			page = this.pool.fetch(pageId);
+		}
+
+		this.pool.unpin(pageId, false);
+
+		return new Cursor(pageId, 0);
+	}
+
+	/**
+	 * Returns a cursor over the first element that is not smaller than the given
+	 * one, descending to the leftmost leaf that may contain it.
+	 * 
+	 */
+	private Cursor lowerBound(T element) throws IOException {
+		int pageId = this.root;
+		ByteBuffer page = this.pool.fetch(pageId);
+
+		while (page.getInt(TYPE) == INTERNAL) {
+			int child = this.getChild(page, this.bound(page, element, false));
+			this.pool.unpin(pageId, false);
+
+			pageId = child;
+			page = this.pool.fetch(pageId);
+		}
+
+		int position = this.bound(page, element, false);
+		this.pool.unpin(pageId, false);
+
+		return new Cursor(pageId, position);
+	}
+
+	// THE METHODS BELOW INSERT AN ELEMENT, SPLITTING THE FULL NODES.
+
+	/**
+	 * Inserts the given element in the subtree whose root is the given page. If
+	 * the page is full, it is split and the key and the page of its new right
+	 * sibling are returned. The pages are only pinned while they are read or
+	 * changed, never during the recursion.
+	 * 
+	 */
+	private Split insert(int pageId, T element) throws IOException {
+		Split split = null;
+		ByteBuffer page = this.pool.fetch(pageId);
+		int position = this.bound(page, element, true);
+
+		if (page.getInt(TYPE) == LEAF) {
+			if (page.getInt(COUNT) < (this.order - 1)) {
+				this.openKey(page, position);
+				this.setKey(page, position, element);
+				this.pool.unpin(pageId, true);
+			} else {
+				this.pool.unpin(pageId, false);
+				split = this.split(pageId, position, element, NONE);
+			}
+		}
+
+		else {
+			int child = this.getChild(page, position);
+			this.pool.unpin(pageId, false);
+
+			Split childSplit = this.insert(child, element);
+
+			if (childSplit != null) {
+				page = this.pool.fetch(pageId);
+
+				if (page.getInt(COUNT) < (this.order - 1)) {
+					this.openKey(page, position);
+					this.setKey(page, position, childSplit.key);
+					this.openChild(page, position + 1);
+					this.setChild(page, position + 1, childSplit.page);
+					this.pool.unpin(pageId, true);
+				} else {
+					this.pool.unpin(pageId, false);
+					split = this.split(pageId, position, childSplit.key, childSplit.page);
+				}
+			}
+		}
+
+		return split;
+	}
+
+	/**
+	 * Splits the full node of the given page while inserting the given key (and,
+	 * for internal nodes, the given child after it). A leaf gives its upper half
+	 * to the new sibling and copies the first key of the sibling up, while an
+	 * internal node moves its middle key up.
+	 * 
+	 */
+	@SuppressWarnings("unchecked")
+	private Split split(int pageId, int position, T key, int child) throws IOException {
+		ByteBuffer page = this.pool.fetch(pageId);
+		boolean leaf = (page.getInt(TYPE) == LEAF);
+		int count = page.getInt(COUNT);
+
+		T[] keys = (T[]) new Comparable[count + 1];
+		int[] children = new int[count + 2];
+
+		for (int i = 0, j = 0; i <= count; i++) {
+			keys[i] = (i == position) ? key : this.getKey(page, j++);
+		}
+
+		if (!leaf) {
+			for (int i = 0, j = 0; i <= (count + 1); i++) {
+				children[i] = (i == (position + 1)) ? child : this.getChild(page, j++);
+			}
+		}
+
+		this.pool.unpin(pageId, false);
+
+		int siblingId = this.allocate(leaf ? LEAF : INTERNAL);
+		int middle = keys.length / 2;
+		int from = leaf ? middle : (middle + 1);
+
+		page = this.pool.fetch(pageId);
+		ByteBuffer sibling = this.pool.fetch(siblingId);
+
+		for (int i = 0; i < middle; i++) {
+			this.setKey(page, i, keys[i]);
+			this.setChild(page, i, children[i]);
+		}
+
+		this.setChild(page, middle, children[middle]);
+		page.putInt(COUNT, middle);
+
+		for (int i = from; i < keys.length; i++) {
+			this.setKey(sibling, i - from, keys[i]);
+			this.setChild(sibling, i - from, children[i]);
+		}
+
+		this.setChild(sibling, keys.length - from, children[keys.length]);
+		sibling.putInt(COUNT, keys.length - from);
+
+		int next = page.getInt(NEXT);
+
+		if (leaf) {
+			sibling.putInt(NEXT, next);
+			sibling.putInt(PREVIOUS, pageId);
+			page.putInt(NEXT, siblingId);
+		}
+
+		this.pool.unpin(pageId, true);
+		this.pool.unpin(siblingId, true);
+
+		if (leaf && (next != NONE)) {
+			ByteBuffer nextPage = this.pool.fetch(next);
+			nextPage.putInt(PREVIOUS, siblingId);
+			this.pool.unpin(next, true);
+		}
+
+		return new Split(keys[middle], siblingId);
+	}
+
+	// THE METHODS BELOW REMOVE AN ELEMENT, MERGING THE UNDERFLOWED NODES.
+
+	/**
+	 * Removes the given element from the subtree whose root is the given page. As
+	 * equal elements may be spread through neighbor leaves, the children are
+	 * tried from the leftmost one that may contain the element while the
+	 * separators are still equal to it.
+	 * 
+	 */
+	private boolean remove(int pageId, T element) throws IOException {
+		boolean removed = false;
+		ByteBuffer page = this.pool.fetch(pageId);
+		int position = this.bound(page, element, false);
+
+		if (page.getInt(TYPE) == LEAF) {
+			if ((position < page.getInt(COUNT)) && (this.getKey(page, position).compareTo(element) == 0)) {
+				this.closeKey(page, position);
+				removed = true;
+			}
+
+			this.pool.unpin(pageId, removed);
+		}
+
+		else {
+			boolean searching = true;
+			this.pool.unpin(pageId, false);
+
+			while (searching) {
+				page = this.pool.fetch(pageId);
+				int child = this.getChild(page, position);
+				this.pool.unpin(pageId, false);
+
+				removed = this.remove(child, element);
+
+				if (removed) {
+					this.rebalance(pageId, position);
+				}
+
+				page = this.pool.fetch(pageId);
+				searching = !removed && (position < page.getInt(COUNT))
+						&& (this.getKey(page, position).compareTo(element) == 0);
+				this.pool.unpin(pageId, false);
+
+				position++;
+			}
+		}
+
+		return removed;
+	}
+
+	/**
+	 * Restores the minimum occupation of the child stored in the given position of
+	 * the given parent, either borrowing one key from a sibling or merging it with
+	 * a sibling.
+	 * 
+	 */
+	private void rebalance(int parentId, int position) throws IOException {
+		int minimum = (this.order - 1) / 2;
+		ByteBuffer parent = this.pool.fetch(parentId);
+		int parentCount = parent.getInt(COUNT);
+
+		int childId = this.getChild(parent, position);
+		int leftId = (position > 0) ? this.getChild(parent, position - 1) : NONE;
+		int rightId = (position < parentCount) ? this.getChild(parent, position + 1) : NONE;
+
+		ByteBuffer child = this.pool.fetch(childId);
+		boolean underflow = (child.getInt(COUNT) < minimum);
+		boolean changed = false;
+
+		if (underflow && (leftId != NONE)) {
+			ByteBuffer left = this.pool.fetch(leftId);
+
+			if (left.getInt(COUNT) > minimum) {
+				this.borrowFromLeft(parent, position, child, left);
+			} else {
+				this.merge(parent, position - 1, left, leftId, child, childId);
+			}
+
+			this.pool.unpin(leftId, true);
+			changed = true;
+		}
+
+		else if (underflow) {
+			ByteBuffer right = this.pool.fetch(rightId);
+
+			if (right.getInt(COUNT) > minimum) {
+				this.borrowFromRight(parent, position, child, right);
+			} else {
+				this.merge(parent, position, child, childId, right, rightId);
+			}
+
+			this.pool.unpin(rightId, true);
+			changed = true;
+		}
+
+		this.pool.unpin(childId, changed);
+		this.pool.unpin(parentId, changed);
+	}
+
+	private void borrowFromLeft(ByteBuffer parent, int position, ByteBuffer child, ByteBuffer left) {
+		int leftCount = left.getInt(COUNT);
+		this.openKey(child, 0);
+
+		if (child.getInt(TYPE) == LEAF) {
+			this.copyKey(left, leftCount - 1, child, 0);
+			this.copyKey(child, 0, parent, position - 1);
+		}
+
+		else {
+			this.copyKey(parent, position - 1, child, 0);
+			this.openChild(child, 0);
+			this.setChild(child, 0, this.getChild(left, leftCount));
+			this.copyKey(left, leftCount - 1, parent, position - 1);
+		}
+
+		this.closeKey(left, leftCount - 1);
+	}
+
+	private void borrowFromRight(ByteBuffer parent, int position, ByteBuffer child, ByteBuffer right) {
+		int childCount = child.getInt(COUNT);
+		this.openKey(child, childCount);
+
+		if (child.getInt(TYPE) == LEAF) {
+			this.copyKey(right, 0, child, childCount);
+			this.closeKey(right, 0);
+			this.copyKey(right, 0, parent, position);
+		}
+
+		else {
+			this.copyKey(parent, position, child, childCount);
+			this.setChild(child, childCount + 1, this.getChild(right, 0));
+			this.copyKey(right, 0, parent, position);
+			this.closeKey(right, 0);
+			this.closeChild(right, 0);
+		}
+	}
+
+	/**
+	 * Merges the given right node into the given left node, which are the children
+	 * of the given parent around the separator of the given position, and
+	 * releases the page of the right node.
+	 * 
+	 */
+	private void merge(ByteBuffer parent, int position, ByteBuffer left, int leftId, ByteBuffer right, int rightId)
+			throws IOException {
+		int leftCount = left.getInt(COUNT);
+		int rightCount = right.getInt(COUNT);
+
+		if (left.getInt(TYPE) == LEAF) {
+			System.arraycopy(right.array(), this.keyOffset(0), left.array(), this.keyOffset(leftCount),
+					rightCount * this.keySize);
+			left.putInt(COUNT, leftCount + rightCount);
+
+			int next = right.getInt(NEXT);
+			left.putInt(NEXT, next);
+
+			if (next != NONE) {
+				ByteBuffer nextPage = this.pool.fetch(next);
+				nextPage.putInt(PREVIOUS, leftId);
+				this.pool.unpin(next, true);
+			}
+		}
+
+		else {
+			this.copyKey(parent, position, left, leftCount);
+			System.arraycopy(right.array(), this.keyOffset(0), left.array(), this.keyOffset(leftCount + 1),
+					rightCount * this.keySize);
+			System.arraycopy(right.array(), this.childOffset(0), left.array(), this.childOffset(leftCount + 1),
+					(rightCount + 1) * 4);
+			left.putInt(COUNT, leftCount + rightCount + 1);
+		}
+
+		this.closeKey(parent, position);
+		this.closeChild(parent, position + 1);
+		this.release(rightId);
+	}
+
+	/**
+	 * A byte array input stream that can be pointed to another slot of a page, so
+	 * a single stream (and the DataInputStream over it) reads every key.
+	 * 
+	 */
+	private static class KeySource extends ByteArrayInputStream {
+
+		public KeySource() {
+			super(new byte[0]);
+		}
+
+		public void point(byte[] buffer, int offset, int length) {
+			this.buf = buffer;
+			this.pos = offset;
+			this.count = offset + length;
+			this.mark = offset;
+		}
+
+	}
+
+	/**
+	 * The result of a split: the key that must be inserted in the parent and the
+	 * page of the new right sibling.
+	 * 
+	 */
+	private class Split {
+
+		private T key;
+		private int page;
+
+		public Split(T key, int page) {
+			this.key = key;
+			this.page = page;
+		}
+
+	}
+
+	/**
+	 * A position in the linked leaves, which moves forward and backward through
+	 * the elements, skipping the empty leaves.
+	 * 
+	 */
+	private class Cursor {
+
+		private int pageId;
+		private int position;
+
+		public Cursor(int pageId, int position) throws IOException {
+			this.pageId = pageId;
+			this.position = position;
+			this.skipExhaustedLeaves();
+		}
+
+		public boolean hasElement() {
+			return (this.pageId != NONE);
+		}
+
+		public T element() throws IOException {
+			ByteBuffer page = pool.fetch(this.pageId);
+
+			try {
+				return getKey(page, this.position);
+			} finally {
+				pool.unpin(this.pageId, false);
+			}
+		}
+
+		public void advance() throws IOException {
+			this.position++;
+			this.skipExhaustedLeaves();
+		}
+
+		/**
+		 * Moves the cursor to the previous element, returning false (and leaving the
+		 * cursor unchanged) if there is none.
+		 * 
+		 */
+		public boolean retreat() throws IOException {
+			int pageId = this.pageId;
+			int position = this.position - 1;
+
+			if (pageId == NONE) {
+				pageId = this.lastLeaf();
+				position = Integer.MAX_VALUE;
+			}
+
+			while ((pageId != NONE) && (position < 0)) {
+				ByteBuffer page = pool.fetch(pageId);
+				int previous = page.getInt(PREVIOUS);
+				pool.unpin(pageId, false);
+
+				pageId = previous;
+
+				if (pageId != NONE) {
+					page = pool.fetch(pageId);
+					position = page.getInt(COUNT) - 1;
+					pool.unpin(pageId, false);
+				}
+			}
+
+			if (position == Integer.MAX_VALUE) {
+				ByteBuffer page = pool.fetch(pageId);
+				position = page.getInt(COUNT) - 1;
+				pool.unpin(pageId, false);
+			}
+
+			boolean moved = ((pageId != NONE) && (position >= 0));
+
+			if (moved) {
+				this.pageId = pageId;
+				this.position = position;
+			}
+
+			return moved;
+		}
+
+		private int lastLeaf() throws IOException {
+			int pageId = root;
+			ByteBuffer page = pool.fetch(pageId);
+
+			while (page.getInt(TYPE) == INTERNAL) {
+				int child = getChild(page, page.getInt(COUNT));
+				pool.unpin(pageId, false);
+
+				pageId = child;
+				page = pool.fetch(pageId);
+			}
+
+			pool.unpin(pageId, false);
+
+			return pageId;
+		}
+
+		private void skipExhaustedLeaves() throws IOException {
+			boolean exhausted = true;
+
+			while ((this.pageId != NONE) && exhausted) {
+				ByteBuffer page = pool.fetch(this.pageId);
+				exhausted = (this.position >= page.getInt(COUNT));
+				int next = page.getInt(NEXT);
+				pool.unpin(this.pageId, false);
+
+				if (exhausted) {
+					this.pageId = next;
+					this.position = 0;
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * A lazy iterator that moves a cursor through the linked leaves until an
+	 * element greater than hi is found.
+	 * 
+	 */
+	private class RangeIterator implements Iterator<T> {
+
+		private Cursor cursor;
+		private T hi;
+		private T next;
+
+		public RangeIterator(Cursor cursor, T hi) throws IOException {
+			this.cursor = cursor;
+			this.hi = hi;
+			this.next = this.fetchNext();
+		}
+
+		@Override
+		public boolean hasNext() {
+			return (this.next != null);
+		}
+
+		@Override
+		public T next() {
+			if (!this.hasNext()) {
+				throw new NoSuchElementException("There are no more elements in the range.");
+			}
+
+			T element = this.next;
+
+			try {
+				this.cursor.advance();
+				this.next = this.fetchNext();
+			} catch (IOException exception) {
+				throw new UncheckedIOException(exception);
+			}
+
+			return element;
+		}
+
+		private T fetchNext() throws IOException {
+			T element = null;
+
+			if (this.cursor.hasElement()) {
+				element = this.cursor.element();
+
+				if ((this.hi != null) && (element.compareTo(this.hi) > 0)) {
+					element = null;
+				}
+			}
+
+			return element;
+		}
+
+	}
+
+}
@@ -0,0 +1,222 @@
+package bTree;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * A write-ahead log keeps the changes of a paged file durable before the pages
+ * themselves are written back. Each transaction is appended as a single record
+ * holding the after-images of all the pages it changed, followed by a CRC32 of
+ * the whole record, and the log is forced to the disk before the transaction is
+ * considered committed.
+ * 
+ * After a crash, the recovery replays, in order, every complete record whose
+ * checksum matches, and ignores the torn record that may be at the end of the
+ * log. Since the records hold full page images, replaying a record more than
+ * once has no additional effect. A checkpoint, which happens after every dirty
+ * page is written to the data file, truncates the log.
+ * 
+ * The log starts with a header holding a magic number and the page size, so a
+ * log is never replayed (nor truncated) with records of the wrong length.
+ * 
+ * Header layout: [int magic] [int page size].
+ * Record layout: [int number of pages] ([int page id] [page bytes])* [long crc].
+ * 
+ * @author Matheus Alves dos Santos
+ * 
+ */
+public class WriteAheadLog implements Closeable {
+
+	private static final int MAGIC = 0x57414C31;
+	private static final int HEADER = 8;
+
+	private FileChannel channel;
+	private int pageSize;
+
+	/**
+	 * Opens (or creates) the log stored in the given file, for pages of the given
+	 * size. If the file already holds a log, its header is checked before anything
+	 * is read or discarded; otherwise, a new header is written.
+	 * 
+	 * @param file     the file where the log is stored.
+	 * @param pageSize the size, in bytes, of the logged pages.
+	 * 
+	 * @throws IOException              if the file could not be opened or does not
+	 *                                  hold a write-ahead log.
+	 * @throws IllegalArgumentException if the log was written with another page
+	 *                                  size.
+	 * 
+	 */
+	public WriteAheadLog(Path file, int pageSize) throws IOException {
+		this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+		this.pageSize = pageSize;
+
+		try {
+			if (this.channel.size() < HEADER) {
+				this.truncate();
+			} else {
+				ByteBuffer header = ByteBuffer.allocate(HEADER);
+				this.read(header, 0);
+
+				if (header.getInt(0) != MAGIC) {
+					throw new IOException("The file does not contain a write-ahead log.");
+				}
+
+				if (header.getInt(4) != pageSize) {
+					throw new IllegalArgumentException("The page size must match the one of the log.");
+				}
+			}
+		} catch (IOException | RuntimeException exception) {
+			this.channel.close();
+			throw exception;
+		}
+	}
+
+	/**
+	 * Returns the current size, in bytes, of the log.
+	 * 
+	 * @return the log size.
+	 * 
+	 * @throws IOException if the size could not be read.
+	 * 
+	 */
+	public long size() throws IOException {
+		return this.channel.size();
+	}
+
+	/**
+	 * Appends a transaction containing the given pages to the end of the log and
+	 * forces it to the disk. When this method returns, the transaction survives a
+	 * crash.
+	 * 
+	 * @param pageIds the ids of the changed pages.
+	 * @param pages   the after-images of the changed pages, in the same order.
+	 * 
+	 * @throws IOException if the record could not be written.
+	 * 
+	 */
+	public void commit(List<Integer> pageIds, List<ByteBuffer> pages) throws IOException {
+		ByteBuffer record = ByteBuffer.allocate(4 + (pageIds.size() * (4 + this.pageSize)) + 8);
+		record.putInt(pageIds.size());
+
+		for (int i = 0; i < pageIds.size(); i++) {
+			record.putInt(pageIds.get(i));
+			record.put(pages.get(i).array(), 0, this.pageSize);
+		}
+
+		CRC32 checksum = new CRC32();
+		checksum.update(record.array(), 0, record.position());
+		record.putLong(checksum.getValue());
+		record.flip();
+
+		long position = this.channel.size();
+		while (record.hasRemaining()) {
+			position += this.channel.write(record, position);
+		}
+
+		this.channel.force(false);
+	}
+
+	/**
+	 * Replays every complete transaction of the log on the given data file, forces
+	 * the data file and truncates the log. The first incomplete or corrupted
+	 * record, and everything after it, is discarded.
+	 * 
+	 * @param data the channel of the data file.
+	 * 
+	 * @return the number of transactions replayed.
+	 * 
+	 * @throws IOException if the log could not be read or the data file written.
+	 * 
+	 */
+	public int recover(FileChannel data) throws IOException {
+		int transactions = 0;
+		long position = HEADER;
+		long size = this.channel.size();
+		boolean complete = true;
+
+		while (complete && ((position + 4) <= size)) {
+			ByteBuffer header = ByteBuffer.allocate(4);
+			this.read(header, position);
+			long length = 4 + (header.getInt(0) * (4L + this.pageSize)) + 8;
+
+			complete = (header.getInt(0) >= 0) && ((position + length) <= size);
+
+			if (complete) {
+				ByteBuffer record = ByteBuffer.allocate((int) length);
+				this.read(record, position);
+
+				CRC32 checksum = new CRC32();
+				checksum.update(record.array(), 0, (int) length - 8);
+				complete = (checksum.getValue() == record.getLong((int) length - 8));
+
+				if (complete) {
+					this.replay(record, data);
+					position += length;
+					transactions++;
+				}
+			}
+		}
+
+		data.force(true);
+		this.truncate();
+
+		return transactions;
+	}
+
+	/**
+	 * Discards every transaction of the log, keeping only its header. It must only
+	 * be called after every page logged has been written to the data file and
+	 * forced to the disk.
+	 * 
+	 * @throws IOException if the log could not be truncated.
+	 * 
+	 */
+	public void truncate() throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(HEADER);
+		header.putInt(0, MAGIC);
+		header.putInt(4, this.pageSize);
+
+		this.channel.truncate(HEADER);
+		while (header.hasRemaining()) {
+			this.channel.write(header, header.position());
+		}
+
+		this.channel.force(true);
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.channel.close();
+	}
+
+	private void read(ByteBuffer buffer, long position) throws IOException {
+		while (buffer.hasRemaining() && (this.channel.read(buffer, position + buffer.position()) >= 0)) {
+		}
+	}
+
+	private void replay(ByteBuffer record, FileChannel data) throws IOException {
+		int pages = record.getInt(0);
+		int offset = 4;
+
+		for (int i = 0; i < pages; i++) {
+			int pageId = record.getInt(offset);
+			ByteBuffer page = ByteBuffer.wrap(record.array(), offset + 4, this.pageSize).slice();
+			long position = (long) pageId * this.pageSize;
+
+			while (page.hasRemaining()) {
+				data.write(page, position + page.position());
+			}
+
+			offset += 4 + this.pageSize;
+		}
+	}
+
+}
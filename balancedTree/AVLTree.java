@@ -2,7 +2,6 @@ package balancedTree;
 
 import searchTree.SortedBinaryTree;
 import binaryTree.BinaryTreeNode;
-import binaryTree.Rotator;
 
 /**
  * A AVL tree (named after inventors Adelson-Velsky and Landis) is a self
@@ -13,123 +12,19 @@ import binaryTree.Rotator;
  * average and worst cases. Insertions and deletions may require the tree to be
  * rebalanced. Each node of the tree contains a comparable T-typed element.
  * 
+ * The insertion and removal are inherited from the SortedBinaryTree. After each
+ * of them, the path from the changed node to the root is retraced: the cached
+ * heights are updated and every unbalanced node is rotated, so the balance of a
+ * node is calculated in O(1) time.
+ * 
  * @author Matheus Alves dos Santos
  * 
  */
 public class AVLTree<T extends Comparable<T>> extends SortedBinaryTree<T> {
 
-	/**
-	 * Inserts a new element at the AVL tree. Null elements are not allowed. If the
-	 * given element is null, the tree will remain unchanged.
-	 * 
-	 * @param element the element to be inserted.
-	 * 
-	 */
-	public void insert(T element) {
-		this.insert(element, super.getRoot(), new BinaryTreeNode<T>());
-	}
-
-	// RECURSIVE AUXILIAR METHOD TO: insert(T element).
-	private void insert(T element, BinaryTreeNode<T> currentNode, BinaryTreeNode<T> nodeParent) {
-		if ((super.isValidInput(element)) && (currentNode.isEmpty())) {
-			currentNode.setData(element);
-			currentNode.setLeft(new BinaryTreeNode<T>());
-			currentNode.setRight(new BinaryTreeNode<T>());
-			currentNode.setParent(nodeParent);
-
-			currentNode.getLeft().setParent(currentNode);
-			currentNode.getRight().setParent(currentNode);
-		}
-
-		else {
-			if (element.compareTo(currentNode.getData()) < 0) {
-				this.insert(element, currentNode.getLeft(), currentNode);
-			} else {
-				this.insert(element, currentNode.getRight(), currentNode);
-			}
-		}
-
-		this.rebalance(currentNode);
-	}
-
-	/**
-	 * Removes an element from the AVL tree. If the tree does not contain the
-	 * element, the tree must remain unchanged.
-	 * 
-	 * @param element the element to be removed.
-	 * 
-	 */
-	@Override
-	public void remove(T element) {
-		if (super.isValidInput(element)) {
-			BinaryTreeNode<T> node = super.search(element);
-
-			if (!node.isEmpty()) {
-				this.remove(node);
-			}
-		}
-	}
-
-	// RECURSIVE AUXILIAR METHOD TO: remove(T element).
-	private void remove(BinaryTreeNode<T> currentNode) {
-		if (currentNode.isLeaf()) {
-			if (currentNode.equals(this.root)) {
-				super.setRoot(new BinaryTreeNode<T>());
-			} else {
-				if (currentNode.getParent().getLeft().equals(currentNode)) {
-					currentNode.getParent().setLeft(new BinaryTreeNode<T>());
-				} else {
-					currentNode.getParent().setRight(new BinaryTreeNode<T>());
-				}
-			}
-
-			this.rebalanceUp(currentNode);
-		}
-
-		else if (currentNode.getLeft().isEmpty() || currentNode.getRight().isEmpty()) {
-			if (currentNode.equals(super.getRoot())) {
-				if (currentNode.getLeft().isEmpty()) {
-					super.setRoot(currentNode.getRight());
-				} else {
-					super.setRoot(currentNode.getLeft());
-				}
-			}
-
-			else {
-				if (currentNode.equals(currentNode.getParent().getLeft())) {
-					if (currentNode.getLeft().isEmpty()) {
-						currentNode.getParent().setLeft(currentNode.getRight());
-						currentNode.getRight().setParent(currentNode.getParent());
-					} else {
-						currentNode.getParent().setLeft(currentNode.getLeft());
-						currentNode.getLeft().setParent(currentNode.getParent());
-					}
-				} else {
-					if (currentNode.getLeft().isEmpty()) {
-						currentNode.getParent().setRight(currentNode.getRight());
-						currentNode.getRight().setParent(currentNode.getParent());
-					} else {
-						currentNode.getParent().setRight(currentNode.getLeft());
-						currentNode.getLeft().setParent(currentNode.getParent());
-					}
-				}
-			}
-
-			this.rebalanceUp(currentNode);
-		}
-
-		else {
-			BinaryTreeNode<T> successor = super.successor(currentNode.getData());
-			T sucessorData = successor.getData();
-			this.remove(successor);
-
-			currentNode.setData(sucessorData);
-		}
-	}
-
 	/**
 	 * Calculates the balance of the given node. If the result is positive, the node
-	 * is weighing right. If the result is negative, the node is weighing left. If
+	 * is weighing left. If the result is negative, the node is weighing right. If
 	 * the result is 0, the node is balanced.
 	 * 
 	 * @param node The node whose balance must be calculated.
@@ -153,67 +48,36 @@ public class AVLTree<T extends Comparable<T>> extends SortedBinaryTree<T> {
 
 		if (balance > 1) {
 			if (calculateBalance(node.getLeft()) < 0) {
-				this.leftRotation(node.getLeft());
+				super.leftRotation(node.getLeft());
 			}
 
-			this.rightRotation(node);
+			super.rightRotation(node);
 		}
 
 		else if (balance < -1) {
 			if (calculateBalance(node.getRight()) > 0) {
-				this.rightRotation(node.getRight());
+				super.rightRotation(node.getRight());
 			}
 
-			this.leftRotation(node);
+			super.leftRotation(node);
 		}
 	}
 
 	/**
-	 * If the absolute value of the balance of the given node (or any of the nodes
-	 * above it) is greater than 1, this method performs the needed operations to
-	 * make them balanced again.
+	 * Walks from the given node up to the root, updating the cached size and
+	 * height of each node and rebalancing the ones whose balance is greater than
+	 * 1 (in absolute value).
 	 * 
-	 * @param currentNode The node that must be rebalanced.
+	 * @param currentNode The lowest node whose subtree has changed.
 	 * 
 	 */
-	private void rebalanceUp(BinaryTreeNode<T> currentNode) {
-		if (!currentNode.isEmpty()) {
+	@Override
+	protected void retrace(BinaryTreeNode<T> currentNode) {
+		while (currentNode != null) {
+			currentNode.update();
 			this.rebalance(currentNode);
-			this.rebalanceUp(currentNode.getParent());
+			currentNode = currentNode.getParent();
 		}
 	}
 
-	/**
-	 * Rotates the subtree (whose root is the given node) to the right.
-	 * 
-	 * @param node the node that is root of the subtree to be rotated.
-	 * 
-	 * @return the new root of the subtree.
-	 * 
-	 */
-	private void rightRotation(BinaryTreeNode<T> node) {
-		BinaryTreeNode<T> newRoot = Rotator.rightRotation(node);
-
-		if (this.getRoot().equals(node)) {
-			this.setRoot(newRoot);
-		}
-	}
-
-	/**
-	 * Rotates the subtree (whose root is the given node) to the left.
-	 * 
-	 * @param node the node that is root of the subtree to be rotated.
-	 * 
-	 * @return the new root of the subtree.
-	 * 
-	 */
-	private void leftRotation(BinaryTreeNode<T> node) {
-		BinaryTreeNode<T> newRoot = Rotator.leftRotation(node);
-
-		if (this.getRoot().equals(node)) {
-			this.setRoot(newRoot);
-		}
-
-	}
-
 }
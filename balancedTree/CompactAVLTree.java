@@ -0,0 +1,457 @@
+package balancedTree;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A compact AVL tree stores the same balanced structure of the AVLTree without
+ * allocating one object per node. Each node is an index of parallel arrays:
+ * the elements are kept in a flat array, while the left child, the right child
+ * and the parent of each node are kept in int arrays and its height in a byte
+ * array (the height of an AVL tree never exceeds 1.44 log n). The index 0 is a
+ * single NIL node shared by the whole tree, and the indexes of removed nodes
+ * are kept in a free list (chained through the left array) to be reused by the
+ * next insertions.
+ * 
+ * Compared to the AVLTree, each element costs about 13 bytes plus a reference,
+ * instead of three BinaryTreeNode objects, and nothing is allocated per
+ * insertion apart from the occasional growth of the arrays.
+ * 
+ * @author Matheus Alves dos Santos
+ * 
+ */
+public class CompactAVLTree<T extends Comparable<T>> implements Iterable<T> {
+
+	private static final int NIL = 0;
+	private static final int INITIAL_CAPACITY = 16;
+
+	private T[] elements;
+	private int[] left;
+	private int[] right;
+	private int[] parent;
+	private byte[] height;
+
+	private int root;
+	private int size;
+	private int next;
+	private int free;
+
+	/**
+	 * Constructs an empty CompactAVLTree whose arrays have the initial capacity
+	 * defined by the constant INITIAL_CAPACITY above (originally 16).
+	 * 
+	 */
+	public CompactAVLTree() {
+		this(INITIAL_CAPACITY);
+	}
+
+	/**
+	 * Constructs an empty CompactAVLTree whose arrays are able to store the given
+	 * number of elements before growing.
+	 * 
+	 * @param capacity the initial number of elements supported by the arrays.
+	 * 
+	 */
+	@SuppressWarnings("unchecked")
+	public CompactAVLTree(int capacity) {
+		int length = Math.max(capacity, 1) + 1;
+
+		this.elements = (T[]) new Comparable[length];
+		this.left = new int[length];
+		this.right = new int[length];
+		this.parent = new int[length];
+		this.height = new byte[length];
+
+		this.height[NIL] = -1;
+		this.root = NIL;
+		this.size = 0;
+		this.next = 1;
+		this.free = NIL;
+	}
+
+	/**
+	 * Returns true, if the tree is empty, or false, otherwise.
+	 * 
+	 * @return the boolean that indicates if the tree is empty.
+	 * 
+	 */
+	public boolean isEmpty() {
+		return (this.root == NIL);
+	}
+
+	/**
+	 * Returns the number of elements contained in the tree.
+	 * 
+	 * @return the size of the tree.
+	 * 
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Returns the height of the tree, which is -1 for an empty tree.
+	 * 
+	 * @return the tree height.
+	 * 
+	 */
+	public int height() {
+		return this.height[this.root];
+	}
+
+	/**
+	 * Inserts a new element at the tree. Null elements are not allowed. If the
+	 * given element is null, the tree will remain unchanged.
+	 * 
+	 * @param element the element to be inserted.
+	 * 
+	 */
+	public void insert(T element) {
+		if (element != null) {
+			int node = this.allocate(element);
+
+			if (this.root == NIL) {
+				this.root = node;
+			}
+
+			else {
+				int currentNode = this.root;
+				int parentNode = NIL;
+
+				while (currentNode != NIL) {
+					parentNode = currentNode;
+
+					if (element.compareTo(this.elements[currentNode]) < 0) {
+						currentNode = this.left[currentNode];
+					} else {
+						currentNode = this.right[currentNode];
+					}
+				}
+
+				this.parent[node] = parentNode;
+				if (element.compareTo(this.elements[parentNode]) < 0) {
+					this.left[parentNode] = node;
+				} else {
+					this.right[parentNode] = node;
+				}
+
+				this.retrace(parentNode);
+			}
+		}
+	}
+
+	/**
+	 * Removes an element from the tree. If the tree does not contain the element,
+	 * the tree must remain unchanged.
+	 * 
+	 * @param element the element to be removed.
+	 * 
+	 */
+	public void remove(T element) {
+		int node = this.find(element);
+
+		if (node != NIL) {
+			if ((this.left[node] != NIL) && (this.right[node] != NIL)) {
+				int successor = this.minimum(this.right[node]);
+				this.elements[node] = this.elements[successor];
+				node = successor;
+			}
+
+			int child = (this.left[node] != NIL) ? this.left[node] : this.right[node];
+			int parentNode = this.parent[node];
+
+			if (child != NIL) {
+				this.parent[child] = parentNode;
+			}
+
+			this.replaceChild(parentNode, node, child);
+			this.release(node);
+			this.retrace(parentNode);
+		}
+	}
+
+	/**
+	 * Returns true, if the tree contains the given element, or false, otherwise.
+	 * 
+	 * @param element the element being searched for.
+	 * 
+	 * @return the boolean that indicates if the element is in the tree.
+	 * 
+	 */
+	public boolean contains(T element) {
+		return (this.find(element) != NIL);
+	}
+
+	/**
+	 * Returns the smallest element of the tree, or null if the tree is empty.
+	 * 
+	 * @return the smallest element of the tree.
+	 * 
+	 */
+	public T minimum() {
+		return this.elements[this.minimum(this.root)];
+	}
+
+	/**
+	 * Returns the greatest element of the tree, or null if the tree is empty.
+	 * 
+	 * @return the greatest element of the tree.
+	 * 
+	 */
+	public T maximum() {
+		int node = this.root;
+
+		while ((node != NIL) && (this.right[node] != NIL)) {
+			node = this.right[node];
+		}
+
+		return this.elements[node];
+	}
+
+	/**
+	 * Creates an array containing the tree elements. This array is filled
+	 * according to the tree order.
+	 * 
+	 * @return a ordered array containing the tree elements.
+	 * 
+	 */
+	@SuppressWarnings("unchecked")
+	public T[] order() {
+		T[] ordered = (T[]) new Comparable[this.size];
+		int index = 0;
+
+		for (int node = this.minimum(this.root); node != NIL; node = this.successor(node)) {
+			ordered[index++] = this.elements[node];
+		}
+
+		return ordered;
+	}
+
+	/**
+	 * Returns a lazy iterator over the tree elements, following the tree order.
+	 * The tree must not be modified while the iterator is being used.
+	 * 
+	 * @return an iterator over the elements in order.
+	 * 
+	 */
+	@Override
+	public Iterator<T> iterator() {
+		return new Iterator<T>() {
+
+			private int node = minimum(root);
+
+			@Override
+			public boolean hasNext() {
+				return (this.node != NIL);
+			}
+
+			@Override
+			public T next() {
+				if (!this.hasNext()) {
+					throw new NoSuchElementException("There are no more elements in the tree.");
+				}
+
+				T element = elements[this.node];
+				this.node = successor(this.node);
+
+				return element;
+			}
+
+		};
+	}
+
+	// THE METHODS BELOW MANAGE THE NODE INDEXES AND THE FREE LIST.
+
+	private int allocate(T element) {
+		int node = this.free;
+
+		if (node != NIL) {
+			this.free = this.left[node];
+		}
+
+		else {
+			if (this.next == this.elements.length) {
+				this.grow();
+			}
+
+			node = this.next++;
+		}
+
+		this.elements[node] = element;
+		this.left[node] = NIL;
+		this.right[node] = NIL;
+		this.parent[node] = NIL;
+		this.height[node] = 0;
+		this.size++;
+
+		return node;
+	}
+
+	private void release(int node) {
+		this.elements[node] = null;
+		this.right[node] = NIL;
+		this.parent[node] = NIL;
+		this.left[node] = this.free;
+		this.free = node;
+		this.size--;
+	}
+
+	private void grow() {
+		int length = this.elements.length + (this.elements.length >> 1) + 1;
+
+		this.elements = Arrays.copyOf(this.elements, length);
+		this.left = Arrays.copyOf(this.left, length);
+		this.right = Arrays.copyOf(this.right, length);
+		this.parent = Arrays.copyOf(this.parent, length);
+		this.height = Arrays.copyOf(this.height, length);
+	}
+
+	// THE METHODS BELOW NAVIGATE THROUGH THE NODE INDEXES.
+
+	private int find(T element) {
+		int node = NIL;
+
+		if (element != null) {
+			int currentNode = this.root;
+
+			while ((currentNode != NIL) && (node == NIL)) {
+				int comparison = element.compareTo(this.elements[currentNode]);
+
+				if (comparison < 0) {
+					currentNode = this.left[currentNode];
+				} else if (comparison > 0) {
+					currentNode = this.right[currentNode];
+				} else {
+					node = currentNode;
+				}
+			}
+		}
+
+		return node;
+	}
+
+	private int minimum(int node) {
+		while ((node != NIL) && (this.left[node] != NIL)) {
+			node = this.left[node];
+		}
+
+		return node;
+	}
+
+	private int successor(int node) {
+		int successor = NIL;
+
+		if (this.right[node] != NIL) {
+			successor = this.minimum(this.right[node]);
+		}
+
+		else {
+			int parentNode = this.parent[node];
+
+			while ((parentNode != NIL) && (this.right[parentNode] == node)) {
+				node = parentNode;
+				parentNode = this.parent[parentNode];
+			}
+
+			successor = parentNode;
+		}
+
+		return successor;
+	}
+
+	private void replaceChild(int parentNode, int child, int replacement) {
+		if (parentNode == NIL) {
+			this.root = replacement;
+		} else if (this.left[parentNode] == child) {
+			this.left[parentNode] = replacement;
+		} else {
+			this.right[parentNode] = replacement;
+		}
+	}
+
+	// THE METHODS BELOW GUARANTEE THE AVL TREE PROPERTIES.
+
+	private void update(int node) {
+		this.height[node] = (byte) (1 + Math.max(this.height[this.left[node]], this.height[this.right[node]]));
+	}
+
+	private int balance(int node) {
+		return this.height[this.left[node]] - this.height[this.right[node]];
+	}
+
+	/**
+	 * Walks from the given node up to the root, updating the heights and rotating
+	 * the unbalanced nodes.
+	 * 
+	 * @param node the lowest node whose subtree has changed.
+	 * 
+	 */
+	private void retrace(int node) {
+		while (node != NIL) {
+			this.update(node);
+			int balance = this.balance(node);
+
+			if (balance > 1) {
+				if (this.balance(this.left[node]) < 0) {
+					this.leftRotation(this.left[node]);
+				}
+
+				node = this.rightRotation(node);
+			}
+
+			else if (balance < -1) {
+				if (this.balance(this.right[node]) > 0) {
+					this.rightRotation(this.right[node]);
+				}
+
+				node = this.leftRotation(node);
+			}
+
+			node = this.parent[node];
+		}
+	}
+
+	private int leftRotation(int node) {
+		int child = this.right[node];
+		int auxNode = this.left[child];
+		int parentNode = this.parent[node];
+
+		this.right[node] = auxNode;
+		if (auxNode != NIL) {
+			this.parent[auxNode] = node;
+		}
+
+		this.left[child] = node;
+		this.parent[node] = child;
+		this.parent[child] = parentNode;
+		this.replaceChild(parentNode, node, child);
+
+		this.update(node);
+		this.update(child);
+
+		return child;
+	}
+
+	private int rightRotation(int node) {
+		int child = this.left[node];
+		int auxNode = this.right[child];
+		int parentNode = this.parent[node];
+
+		this.left[node] = auxNode;
+		if (auxNode != NIL) {
+			this.parent[auxNode] = node;
+		}
+
+		this.right[child] = node;
+		this.parent[node] = child;
+		this.parent[child] = parentNode;
+		this.replaceChild(parentNode, node, child);
+
+		this.update(node);
+		this.update(child);
+
+		return child;
+	}
+
+}
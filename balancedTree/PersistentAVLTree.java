@@ -0,0 +1,414 @@
+package balancedTree;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A persistent AVL tree is an immutable version of the AVLTree. The insertion
+ * and the removal do not change the tree: they return a new tree, which copies
+ * only the O(log n) nodes in the path from the root to the changed node and
+ * shares every other subtree with the original one (path copying). So, any
+ * version of the tree is a consistent snapshot that may be read at any time,
+ * by any number of threads, without locks.
+ * 
+ * A writer may publish each new version in a volatile field (or in an
+ * AtomicReference), while the readers take a snapshot just by reading that
+ * field. Nodes are immutable and cache the size and the height of their
+ * subtrees, so size(), height(), select(k) and rank(element) are cheap.
+ * 
+ * @author Matheus Alves dos Santos
+ * 
+ */
+public final class PersistentAVLTree<T extends Comparable<T>> implements Iterable<T> {
+
+	private final Node<T> root;
+
+	/**
+	 * Constructs an empty PersistentAVLTree.
+	 * 
+	 */
+	public PersistentAVLTree() {
+		this(null);
+	}
+
+	private PersistentAVLTree(Node<T> root) {
+		this.root = root;
+	}
+
+	/**
+	 * Returns true, if the tree is empty, or false, otherwise.
+	 * 
+	 * @return the boolean that indicates if the tree is empty.
+	 * 
+	 */
+	public boolean isEmpty() {
+		return (this.root == null);
+	}
+
+	/**
+	 * Returns the number of elements contained in the tree.
+	 * 
+	 * @return the size of the tree.
+	 * 
+	 */
+	public int size() {
+		return size(this.root);
+	}
+
+	/**
+	 * Returns the height of the tree, which is -1 for an empty tree.
+	 * 
+	 * @return the tree height.
+	 * 
+	 */
+	public int height() {
+		return height(this.root);
+	}
+
+	/**
+	 * Returns a new tree containing the elements of this one plus the given
+	 * element. Null elements are not allowed. If the given element is null, this
+	 * same tree is returned. An element equal to others already in the tree is
+	 * inserted after them.
+	 * 
+	 * @param element the element to be inserted.
+	 * 
+	 * @return the tree containing the inserted element.
+	 * 
+	 */
+	public PersistentAVLTree<T> insert(T element) {
+		PersistentAVLTree<T> tree = this;
+
+		if (element != null) {
+			tree = new PersistentAVLTree<T>(insert(this.root, element));
+		}
+
+		return tree;
+	}
+
+	/**
+	 * Returns a new tree containing the elements of this one except (one
+	 * occurrence of) the given element. If this tree does not contain the element,
+	 * this same tree is returned.
+	 * 
+	 * @param element the element to be removed.
+	 * 
+	 * @return the tree without the removed element.
+	 * 
+	 */
+	public PersistentAVLTree<T> remove(T element) {
+		PersistentAVLTree<T> tree = this;
+
+		if (this.contains(element)) {
+			tree = new PersistentAVLTree<T>(remove(this.root, element));
+		}
+
+		return tree;
+	}
+
+	/**
+	 * Returns true, if the tree contains the given element, or false, otherwise.
+	 * 
+	 * @param element the element being searched for.
+	 * 
+	 * @return the boolean that indicates if the element is in the tree.
+	 * 
+	 */
+	public boolean contains(T element) {
+		boolean found = false;
+
+		if (element != null) {
+			Node<T> node = this.root;
+
+			while ((node != null) && !found) {
+				int comparison = element.compareTo(node.data);
+
+				if (comparison < 0) {
+					node = node.left;
+				} else if (comparison > 0) {
+					node = node.right;
+				} else {
+					found = true;
+				}
+			}
+		}
+
+		return found;
+	}
+
+	/**
+	 * Returns the smallest element of the tree, or null if the tree is empty.
+	 * 
+	 * @return the smallest element of the tree.
+	 * 
+	 */
+	public T minimum() {
+		return (this.isEmpty() ? null : minimum(this.root).data);
+	}
+
+	/**
+	 * Returns the greatest element of the tree, or null if the tree is empty.
+	 * 
+	 * @return the greatest element of the tree.
+	 * 
+	 */
+	public T maximum() {
+		Node<T> node = this.root;
+
+		while ((node != null) && (node.right != null)) {
+			node = node.right;
+		}
+
+		return ((node == null) ? null : node.data);
+	}
+
+	/**
+	 * Returns the element whose rank is k, that is, the (k + 1)-th smallest
+	 * element of the tree, in O(log n) time. If k is out of range, this method
+	 * returns null.
+	 * 
+	 * @param k the 0-based position of the element in the tree order.
+	 * 
+	 * @return the element at the given position.
+	 * 
+	 */
+	public T select(int k) {
+		T selected = null;
+
+		if ((k >= 0) && (k < this.size())) {
+			Node<T> node = this.root;
+
+			while (selected == null) {
+				int leftSize = size(node.left);
+
+				if (k < leftSize) {
+					node = node.left;
+				} else if (k > leftSize) {
+					k -= leftSize + 1;
+					node = node.right;
+				} else {
+					selected = node.data;
+				}
+			}
+		}
+
+		return selected;
+	}
+
+	/**
+	 * Returns the number of elements of the tree that are smaller than the given
+	 * element, in O(log n) time. If the given element is null, it returns -1.
+	 * 
+	 * @param element the element whose rank is being calculated.
+	 * 
+	 * @return the rank of the given element.
+	 * 
+	 */
+	public int rank(T element) {
+		int rank = -1;
+
+		if (element != null) {
+			Node<T> node = this.root;
+			rank = 0;
+
+			while (node != null) {
+				if (element.compareTo(node.data) <= 0) {
+					node = node.left;
+				} else {
+					rank += size(node.left) + 1;
+					node = node.right;
+				}
+			}
+		}
+
+		return rank;
+	}
+
+	/**
+	 * Creates an array containing the tree elements. This array is filled
+	 * according to the tree order.
+	 * 
+	 * @return a ordered array containing the tree elements.
+	 * 
+	 */
+	@SuppressWarnings("unchecked")
+	public T[] order() {
+		T[] ordered = (T[]) new Comparable[this.size()];
+		int index = 0;
+
+		for (T element : this) {
+			ordered[index++] = element;
+		}
+
+		return ordered;
+	}
+
+	/**
+	 * Returns a lazy iterator over the tree elements, following the tree order.
+	 * As the tree never changes, the iterator may be used while newer versions are
+	 * being created. Since the nodes have no parent pointers, the iterator keeps
+	 * the O(log n) pending ancestors in a stack.
+	 * 
+	 * @return an iterator over the elements in order.
+	 * 
+	 */
+	@Override
+	public Iterator<T> iterator() {
+		return new Iterator<T>() {
+
+			@SuppressWarnings("unchecked")
+			private Node<T>[] stack = new Node[height(root) + 1];
+			private int top = this.pushLeftPath(root, 0);
+
+			@Override
+			public boolean hasNext() {
+				return (this.top > 0);
+			}
+
+			@Override
+			public T next() {
+				if (!this.hasNext()) {
+					throw new NoSuchElementException("There are no more elements in the tree.");
+				}
+
+				Node<T> node = this.stack[--this.top];
+				this.stack[this.top] = null;
+				this.top = this.pushLeftPath(node.right, this.top);
+
+				return node.data;
+			}
+
+			private int pushLeftPath(Node<T> node, int top) {
+				while (node != null) {
+					this.stack[top++] = node;
+					node = node.left;
+				}
+
+				return top;
+			}
+
+		};
+	}
+
+	// THE METHODS BELOW BUILD THE NEW PATHS, COPYING THE CHANGED NODES.
+
+	private static <T extends Comparable<T>> int size(Node<T> node) {
+		return ((node == null) ? 0 : node.size);
+	}
+
+	private static <T extends Comparable<T>> int height(Node<T> node) {
+		return ((node == null) ? -1 : node.height);
+	}
+
+	private static <T extends Comparable<T>> Node<T> minimum(Node<T> node) {
+		while (node.left != null) {
+			node = node.left;
+		}
+
+		return node;
+	}
+
+	private static <T extends Comparable<T>> Node<T> insert(Node<T> node, T element) {
+		Node<T> inserted;
+
+		if (node == null) {
+			inserted = new Node<T>(element, null, null);
+		} else if (element.compareTo(node.data) < 0) {
+			inserted = balance(node.data, insert(node.left, element), node.right);
+		} else {
+			inserted = balance(node.data, node.left, insert(node.right, element));
+		}
+
+		return inserted;
+	}
+
+	// The element must be in the subtree.
+	private static <T extends Comparable<T>> Node<T> remove(Node<T> node, T element) {
+		Node<T> removed;
+		int comparison = element.compareTo(node.data);
+
+		if (comparison < 0) {
+			removed = balance(node.data, remove(node.left, element), node.right);
+		} else if (comparison > 0) {
+			removed = balance(node.data, node.left, remove(node.right, element));
+		} else if (node.left == null) {
+			removed = node.right;
+		} else if (node.right == null) {
+			removed = node.left;
+		} else {
+			removed = balance(minimum(node.right).data, node.left, removeMinimum(node.right));
+		}
+
+		return removed;
+	}
+
+	private static <T extends Comparable<T>> Node<T> removeMinimum(Node<T> node) {
+		Node<T> removed = node.right;
+
+		if (node.left != null) {
+			removed = balance(node.data, removeMinimum(node.left), node.right);
+		}
+
+		return removed;
+	}
+
+	/**
+	 * Creates a node containing the given element and subtrees, which are AVL
+	 * trees whose heights differ by at most 2, performing the single or double
+	 * rotation needed to keep the AVL property. Only new nodes are created: the
+	 * given subtrees are never changed.
+	 * 
+	 */
+	private static <T extends Comparable<T>> Node<T> balance(T data, Node<T> left, Node<T> right) {
+		Node<T> balanced;
+		int balance = height(left) - height(right);
+
+		if (balance > 1) {
+			if (height(left.left) >= height(left.right)) {
+				balanced = new Node<T>(left.data, left.left, new Node<T>(data, left.right, right));
+			} else {
+				balanced = new Node<T>(left.right.data, new Node<T>(left.data, left.left, left.right.left),
+						new Node<T>(data, left.right.right, right));
+			}
+		}
+
+		else if (balance < -1) {
+			if (height(right.right) >= height(right.left)) {
+				balanced = new Node<T>(right.data, new Node<T>(data, left, right.left), right.right);
+			} else {
+				balanced = new Node<T>(right.left.data, new Node<T>(data, left, right.left.left),
+						new Node<T>(right.data, right.left.right, right.right));
+			}
+		}
+
+		else {
+			balanced = new Node<T>(data, left, right);
+		}
+
+		return balanced;
+	}
+
+	/**
+	 * An immutable node of the persistent tree, which caches the size and the
+	 * height of its subtree. An empty subtree is represented by null.
+	 * 
+	 */
+	private static final class Node<T extends Comparable<T>> {
+
+		private final T data;
+		private final Node<T> left;
+		private final Node<T> right;
+		private final int size;
+		private final int height;
+
+		public Node(T data, Node<T> left, Node<T> right) {
+			this.data = data;
+			this.left = left;
+			this.right = right;
+			this.size = size(left) + size(right) + 1;
+			this.height = Math.max(height(left), height(right)) + 1;
+		}
+
+	}
+
+}
@@ -1,6 +1,6 @@
 package balancedTree;
 
-import binaryTree.Rotator;
+import binaryTree.BinaryTreeNode;
 import searchTree.SortedBinaryTree;
 
 /**
@@ -15,6 +15,11 @@ import searchTree.SortedBinaryTree;
  * then both its children are black; every path from a given node to any of its
  * descendant NIL nodes contains the same number of black nodes.
  * 
+ * Both the insertion and the removal are iterative. After the structural
+ * change, a fix-up loop climbs the tree recoloring nodes and performing at
+ * most three rotations, and then the cached sizes and heights are updated from
+ * the changed node to the root.
+ * 
  * @author Matheus Alves dos Santos
  * 
  */
@@ -28,6 +33,35 @@ public class RedBlackTree<T extends Comparable<T>> extends SortedBinaryTree<T> {
 		super.setRoot(new RedBlackTreeNode<T>());
 	}
 
+	/**
+	 * Creates a new NIL RedBlackTreeNode, which is always BLACK.
+	 * 
+	 * @return a new NIL node.
+	 * 
+	 */
+	@Override
+	protected BinaryTreeNode<T> createNil() {
+		return new RedBlackTreeNode<T>();
+	}
+
+	/**
+	 * Colors RED the nodes built at the deepest level of a tree that is not the
+	 * single root. As every NIL node of the built tree is at depth height or
+	 * (height + 1), and all the other nodes are BLACK, every path to a NIL node
+	 * contains the same number of black nodes.
+	 * 
+	 * @param node   the node just built.
+	 * @param depth  the depth of the node.
+	 * @param height the height of the whole built tree.
+	 * 
+	 */
+	@Override
+	protected void built(BinaryTreeNode<T> node, int depth, int height) {
+		if ((depth == height) && (depth > 0)) {
+			this.setColor(node, Color.RED);
+		}
+	}
+
 	/**
 	 * Inserts a new element at the red-black tree. Null elements are not allowed.
 	 * If the given element is null, the tree will remain unchanged.
@@ -38,38 +72,51 @@ public class RedBlackTree<T extends Comparable<T>> extends SortedBinaryTree<T> {
 	@Override
 	public void insert(T element) {
 		if (super.isValidInput(element)) {
-			if (!super.isEmpty()) {
-				this.insert(element, (RedBlackTreeNode<T>) super.getRoot(), null);
-			}
+			BinaryTreeNode<T> currentNode = super.getRoot();
 
-			else {
-				super.getRoot().setData(element);
-				super.getRoot().setLeft(new RedBlackTreeNode<T>());
-				super.getRoot().setRight(new RedBlackTreeNode<T>());
-				((RedBlackTreeNode<T>) super.getRoot()).setColor(Color.BLACK);
+			while (!currentNode.isEmpty()) {
+				if (element.compareTo(currentNode.getData()) < 0) {
+					currentNode = currentNode.getLeft();
+				} else {
+					currentNode = currentNode.getRight();
+				}
 			}
+
+			super.fill(currentNode, element);
+			this.setColor(currentNode, Color.RED);
+
+			this.insertFixUp(currentNode);
+			super.retrace(currentNode);
 		}
 	}
 
-	// RECURSIVE AUXILIAR METHOD TO: insert(T element).
-	private void insert(T element, RedBlackTreeNode<T> currentNode, RedBlackTreeNode<T> nodeParent) {
-		if (currentNode.isEmpty()) {
-			currentNode.setData(element);
-			currentNode.setParent(nodeParent);
-			currentNode.setLeft(new RedBlackTreeNode<T>());
-			currentNode.setRight(new RedBlackTreeNode<T>());
-
-			currentNode.setColor(Color.RED);
-			this.fixUpCase1(currentNode);
+	/**
+	 * Removes the given node from the red-black tree, as the SortedBinaryTree
+	 * does, and restores the red-black tree properties if the node physically
+	 * removed was BLACK.
+	 * 
+	 * @param node the node to be removed.
+	 * 
+	 * @return the parent of the node physically removed (null if it was the root).
+	 * 
+	 */
+	@Override
+	protected BinaryTreeNode<T> remove(BinaryTreeNode<T> node) {
+		if (!node.getLeft().isEmpty() && !node.getRight().isEmpty()) {
+			BinaryTreeNode<T> successor = super.minimum(node.getRight());
+			node.setData(successor.getData());
+			node = successor;
 		}
 
-		else {
-			if (currentNode.getData().compareTo(element) < 0) {
-				this.insert(element, ((RedBlackTreeNode<T>) currentNode.getRight()), currentNode);
-			} else {
-				this.insert(element, ((RedBlackTreeNode<T>) currentNode.getLeft()), currentNode);
-			}
+		Color removedColor = this.getColor(node);
+		BinaryTreeNode<T> replacement = node.getLeft().isEmpty() ? node.getRight() : node.getLeft();
+		BinaryTreeNode<T> parent = super.remove(node);
+
+		if (removedColor == Color.BLACK) {
+			this.removeFixUp(replacement);
 		}
+
+		return parent;
 	}
 
 	/**
@@ -81,22 +128,15 @@ public class RedBlackTree<T extends Comparable<T>> extends SortedBinaryTree<T> {
 	 * 
 	 */
 	public int blackHeight() {
-		return this.blackHeight((RedBlackTreeNode<T>) super.getRoot());
-	}
-
-	// RECURSIVE AUXILIAR METHOD TO: blackHeight().
-	private int blackHeight(RedBlackTreeNode<T> node) {
 		int blackHeight = 0;
+		BinaryTreeNode<T> node = super.getRoot();
 
-		if (!node.isEmpty()) {
-			int leftBlackHeight = this.blackHeight((RedBlackTreeNode<T>) node.getLeft());
-			int rightBlackHeight = this.blackHeight((RedBlackTreeNode<T>) node.getRight());
-
-			blackHeight = Math.max(leftBlackHeight, rightBlackHeight);
-
-			if (node.getColor() == Color.BLACK) {
+		while (!node.isEmpty()) {
+			if (this.getColor(node) == Color.BLACK) {
 				blackHeight++;
 			}
+
+			node = node.getLeft();
 		}
 
 		return blackHeight;
@@ -105,77 +145,158 @@ public class RedBlackTree<T extends Comparable<T>> extends SortedBinaryTree<T> {
 	// THE METHODS BELOW ARE AUXILIARIES USED TO GUARANTEE THE RED-BLACK TREE
 	// PROPERTIES.
 
-	private boolean isLeftChild(RedBlackTreeNode<T> node) {
-		return ((node.getParent() != null) && (((RedBlackTreeNode<T>) node.getParent().getLeft()).equals(node)));
+	private Color getColor(BinaryTreeNode<T> node) {
+		return ((RedBlackTreeNode<T>) node).getColor();
 	}
 
-	private boolean isRightChild(RedBlackTreeNode<T> node) {
-		return ((node.getParent() != null) && (((RedBlackTreeNode<T>) node.getParent().getRight()).equals(node)));
+	private void setColor(BinaryTreeNode<T> node, Color color) {
+		((RedBlackTreeNode<T>) node).setColor(color);
 	}
 
-	private RedBlackTreeNode<T> getNodeUncle(RedBlackTreeNode<T> node) {
-		RedBlackTreeNode<T> uncle = new RedBlackTreeNode<T>();
-		RedBlackTreeNode<T> parent = ((RedBlackTreeNode<T>) node.getParent());
-		RedBlackTreeNode<T> grandParent = ((RedBlackTreeNode<T>) parent.getParent());
+	/**
+	 * Restores the red-black tree properties after the insertion of the given RED
+	 * node. While the parent of the node is RED, either the parent and the uncle
+	 * are recolored and the loop continues at the grandparent, or at most two
+	 * rotations finish the fix-up.
+	 * 
+	 * @param node the inserted node.
+	 * 
+	 */
+	private void insertFixUp(BinaryTreeNode<T> node) {
+		while ((node.getParent() != null) && (this.getColor(node.getParent()) == Color.RED)) {
+			BinaryTreeNode<T> parent = node.getParent();
+			BinaryTreeNode<T> grandParent = parent.getParent();
 
-		if (this.isLeftChild(parent)) {
-			uncle = ((RedBlackTreeNode<T>) grandParent.getRight());
-		} else {
-			uncle = ((RedBlackTreeNode<T>) grandParent.getLeft());
-		}
+			if (parent == grandParent.getLeft()) {
+				BinaryTreeNode<T> uncle = grandParent.getRight();
 
-		return uncle;
-	}
+				if (this.getColor(uncle) == Color.RED) {
+					this.setColor(parent, Color.BLACK);
+					this.setColor(uncle, Color.BLACK);
+					this.setColor(grandParent, Color.RED);
+					node = grandParent;
+				}
 
-	private void fixUpCase1(RedBlackTreeNode<T> node) {
-		if (node.equals(super.getRoot())) {
-			node.setColor(Color.BLACK);
-		} else {
-			this.fixUpCase2(node);
-		}
-	}
+				else {
+					if (node == parent.getRight()) {
+						node = parent;
+						super.leftRotation(node);
+						parent = node.getParent();
+					}
 
-	private void fixUpCase2(RedBlackTreeNode<T> node) {
-		if (((RedBlackTreeNode<T>) node.getParent()).getColor() == Color.RED) {
-			this.fixUpCase3(node);
-		}
-	}
+					this.setColor(parent, Color.BLACK);
+					this.setColor(grandParent, Color.RED);
+					super.rightRotation(grandParent);
+				}
+			}
+
+			else {
+				BinaryTreeNode<T> uncle = grandParent.getLeft();
 
-	private void fixUpCase3(RedBlackTreeNode<T> node) {
-		if (this.getNodeUncle(node).getColor() == Color.RED) {
-			((RedBlackTreeNode<T>) node.getParent()).setColor(Color.BLACK);
-			this.getNodeUncle(node).setColor(Color.BLACK);
-			((RedBlackTreeNode<T>) node.getParent().getParent()).setColor(Color.RED);
+				if (this.getColor(uncle) == Color.RED) {
+					this.setColor(parent, Color.BLACK);
+					this.setColor(uncle, Color.BLACK);
+					this.setColor(grandParent, Color.RED);
+					node = grandParent;
+				}
 
-			this.fixUpCase1(((RedBlackTreeNode<T>) node.getParent().getParent()));
-		}
+				else {
+					if (node == parent.getLeft()) {
+						node = parent;
+						super.rightRotation(node);
+						parent = node.getParent();
+					}
 
-		else {
-			this.fixUpCase4(node);
+					this.setColor(parent, Color.BLACK);
+					this.setColor(grandParent, Color.RED);
+					super.leftRotation(grandParent);
+				}
+			}
 		}
+
+		this.setColor(super.getRoot(), Color.BLACK);
 	}
 
-	private void fixUpCase4(RedBlackTreeNode<T> node) {
-		RedBlackTreeNode<T> parent = ((RedBlackTreeNode<T>) node.getParent());
+	/**
+	 * Restores the red-black tree properties after the removal of a BLACK node,
+	 * whose place was taken by the given node (which carries an extra black).
+	 * While the extra black is not absorbed by a RED node or by the root, the
+	 * sibling is recolored and the loop continues at the parent, or at most three
+	 * rotations finish the fix-up.
+	 * 
+	 * @param node the node that took the place of the removed one.
+	 * 
+	 */
+	private void removeFixUp(BinaryTreeNode<T> node) {
+		while ((node != super.getRoot()) && (this.getColor(node) == Color.BLACK)) {
+			BinaryTreeNode<T> parent = node.getParent();
 
-		if (this.isRightChild(node) && this.isLeftChild(parent)) {
-			Rotator.leftRotation(parent);
-		} else if (this.isLeftChild(node) && this.isRightChild(parent)) {
-			Rotator.rightRotation(parent);
-		}
+			if (node == parent.getLeft()) {
+				BinaryTreeNode<T> sibling = parent.getRight();
 
-		this.fixUpCase5(node);
-	}
+				if (this.getColor(sibling) == Color.RED) {
+					this.setColor(sibling, Color.BLACK);
+					this.setColor(parent, Color.RED);
+					super.leftRotation(parent);
+					sibling = parent.getRight();
+				}
+
+				if ((this.getColor(sibling.getLeft()) == Color.BLACK)
+						&& (this.getColor(sibling.getRight()) == Color.BLACK)) {
+					this.setColor(sibling, Color.RED);
+					node = parent;
+				}
+
+				else {
+					if (this.getColor(sibling.getRight()) == Color.BLACK) {
+						this.setColor(sibling.getLeft(), Color.BLACK);
+						this.setColor(sibling, Color.RED);
+						super.rightRotation(sibling);
+						sibling = parent.getRight();
+					}
 
-	private void fixUpCase5(RedBlackTreeNode<T> node) {
-		((RedBlackTreeNode<T>) node.getParent()).setColor(Color.BLACK);
-		((RedBlackTreeNode<T>) node.getParent().getParent()).setColor(Color.RED);
+					this.setColor(sibling, this.getColor(parent));
+					this.setColor(parent, Color.BLACK);
+					this.setColor(sibling.getRight(), Color.BLACK);
+					super.leftRotation(parent);
+					node = super.getRoot();
+				}
+			}
+
+			else {
+				BinaryTreeNode<T> sibling = parent.getLeft();
+
+				if (this.getColor(sibling) == Color.RED) {
+					this.setColor(sibling, Color.BLACK);
+					this.setColor(parent, Color.RED);
+					super.rightRotation(parent);
+					sibling = parent.getLeft();
+				}
 
-		if (this.isLeftChild(node)) {
-			Rotator.rightRotation(((RedBlackTreeNode<T>) node.getParent().getParent()));
-		} else {
-			Rotator.leftRotation(((RedBlackTreeNode<T>) node.getParent().getParent()));
+				if ((this.getColor(sibling.getLeft()) == Color.BLACK)
+						&& (this.getColor(sibling.getRight()) == Color.BLACK)) {
+					this.setColor(sibling, Color.RED);
+					node = parent;
+				}
+
+				else {
+					if (this.getColor(sibling.getLeft()) == Color.BLACK) {
+						this.setColor(sibling.getRight(), Color.BLACK);
+						this.setColor(sibling, Color.RED);
+						super.leftRotation(sibling);
+						sibling = parent.getLeft();
+					}
+
+					this.setColor(sibling, this.getColor(parent));
+					this.setColor(parent, Color.BLACK);
+					this.setColor(sibling.getLeft(), Color.BLACK);
+					super.rightRotation(parent);
+					node = super.getRoot();
+				}
+			}
 		}
+
+		this.setColor(node, Color.BLACK);
 	}
 
 }
@@ -15,13 +15,17 @@ public class BinaryTreeNode<T> {
 	protected BinaryTreeNode<T> right;
 	protected BinaryTreeNode<T> left;
 	protected T data;
+	protected int size;
+	protected int height;
 
 	/**
 	 * Constructs an empty BinaryTreeNode (data, parent, left and right will be
-	 * null), known as NIL.
+	 * null), known as NIL. The size of a NIL is 0 and its height is -1.
 	 * 
 	 */
 	public BinaryTreeNode() {
+		this.size = 0;
+		this.height = -1;
 	}
 
 	public BinaryTreeNode<T> getParent() {
@@ -56,6 +60,38 @@ public class BinaryTreeNode<T> {
 		this.data = data;
 	}
 
+	public int getSize() {
+		return this.size;
+	}
+
+	public void setSize(int size) {
+		this.size = size;
+	}
+
+	public int getHeight() {
+		return this.height;
+	}
+
+	public void setHeight(int height) {
+		this.height = height;
+	}
+
+	/**
+	 * Recalculates the size and the height of the subtree whose root is the node
+	 * executing this method, based on the values cached by its children. A NIL
+	 * node always has size 0 and height -1.
+	 * 
+	 */
+	public void update() {
+		if (this.isEmpty()) {
+			this.size = 0;
+			this.height = -1;
+		} else {
+			this.size = 1 + this.left.size + this.right.size;
+			this.height = 1 + Math.max(this.left.height, this.right.height);
+		}
+	}
+
 	/**
 	 * Returns true if the node executing this method is a NIL. Otherwise, returns
 	 * false. To be a NIL, a node must have null data attribute.
@@ -2,6 +2,8 @@ package binaryTree;
 
 /**
  * This class contains useful methods for performing rotations on binary trees.
+ * The cached sizes and heights of the rotated nodes are updated, but the ones
+ * of their ancestors must be updated by the caller.
  * 
  * @author Matheus Alves dos Santos
  * 
@@ -23,8 +25,8 @@ public class Rotator {
 
 		nodeChild.setParent(nodeParent);
 
-		if (nodeParent.getLeft() != null) {
-			if (nodeParent.getLeft().equals(node)) {
+		if (nodeParent != null) {
+			if (nodeParent.getLeft() == node) {
 				nodeParent.setLeft(nodeChild);
 			} else {
 				nodeParent.setRight(nodeChild);
@@ -34,6 +36,10 @@ public class Rotator {
 		node.setParent(nodeChild);
 		nodeChild.setLeft(node);
 		node.setRight(auxNode);
+		auxNode.setParent(node);
+
+		node.update();
+		nodeChild.update();
 
 		return nodeChild;
 	}
@@ -53,8 +59,8 @@ public class Rotator {
 
 		nodeChild.setParent(nodeParent);
 
-		if (nodeParent.getLeft() != null) {
-			if (nodeParent.getLeft().equals(node)) {
+		if (nodeParent != null) {
+			if (nodeParent.getLeft() == node) {
 				nodeParent.setLeft(nodeChild);
 			} else {
 				nodeParent.setRight(nodeChild);
@@ -64,6 +70,10 @@ public class Rotator {
 		node.setParent(nodeChild);
 		nodeChild.setRight(node);
 		node.setLeft(auxNode);
+		auxNode.setParent(node);
+
+		node.update();
+		nodeChild.update();
 
 		return nodeChild;
 	}
@@ -140,7 +140,7 @@ public class BinaryHeap<T extends Comparable<T>> implements Heap<T> {
 	 * 
 	 */
 	private boolean greaterThan(int i, int j) {
-		return (this.getComparator().compare(this.getElement(i), this.getElement(i)) > 0);
+		return (this.getComparator().compare(this.getElement(i), this.getElement(j)) > 0);
 	}
 
 	/**
@@ -267,7 +267,6 @@ public class BinaryHeap<T extends Comparable<T>> implements Heap<T> {
 
 		if (this.isValidInput(element)) {
 			this.setIndex(this.getIndex() + 1);
-			;
 			int position = this.getIndex();
 			this.setElement(position, element);
 
@@ -291,7 +290,8 @@ public class BinaryHeap<T extends Comparable<T>> implements Heap<T> {
 
 		if (this.isValidInput(root)) {
 			this.swap(0, this.getIndex());
-			this.setElement(this.getIndex() - 1, null);
+			this.setElement(this.getIndex(), null);
+			this.setIndex(this.getIndex() - 1);
 			this.heapify(0);
 		}
 
@@ -341,7 +341,8 @@ public class BinaryHeap<T extends Comparable<T>> implements Heap<T> {
 	/**
 	 * Sorts the elements of an array using the heap concept. The method returns a
 	 * copy of the given array containing only the not null elements. After this
-	 * method is executed, the internal array must be empty.
+	 * method is executed, the internal array must be empty. The copy is sorted in
+	 * place by the HeapSorter, so no intermediate heap is built.
 	 * 
 	 * @param array an array of T-typed elements.
 	 * 
@@ -354,18 +355,20 @@ public class BinaryHeap<T extends Comparable<T>> implements Heap<T> {
 		T[] sortedArray = null;
 
 		if (array != null) {
-			Comparator<T> originalComparator = this.getComparator();
-			this.setComparator(((o1, o2) -> o2.compareTo(o1)));
-			this.setIndex(-1);
-
-			this.build(array);
+			int size = 0;
+			sortedArray = (T[]) new Comparable[array.length];
 
-			sortedArray = (T[]) new Comparable[this.size()];
-			for (int i = 0; i < sortedArray.length; i++) {
-				sortedArray[i] = this.extract();
+			for (T element : array) {
+				if (this.isValidInput(element)) {
+					sortedArray[size++] = element;
+				}
 			}
 
-			this.setComparator(originalComparator);
+			sortedArray = Arrays.copyOf(sortedArray, size);
+			HeapSorter.sort(sortedArray, ((o1, o2) -> o1.compareTo(o2)));
+
+			this.setHeap((T[]) (new Comparable[INITIAL_SIZE]));
+			this.setIndex(-1);
 		}
 
 		return sortedArray;
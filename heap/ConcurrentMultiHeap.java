@@ -0,0 +1,436 @@
+package heap;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import abstractions.Heap;
+
+/**
+ * A thread-safe priority queue based on the MultiQueue design. The elements are
+ * spread over several internal BinaryHeaps, each one protected by its own lock,
+ * so concurrent producers and consumers rarely contend for the same heap.
+ * 
+ * An insertion stores the element in a randomly chosen internal heap. An
+ * extraction samples some internal heaps (the number of choices), compares
+ * their roots and extracts the best one. Because of that, the order of the
+ * extractions is relaxed: the returned element is always near the top of the
+ * queue, but not necessarily the exact root of the whole structure. The
+ * strictness is configured by the number of internal heaps (fewer heaps mean
+ * stricter ordering and more contention) and by the number of choices (more
+ * choices mean stricter ordering and slower extractions). With a single
+ * internal heap, this structure behaves exactly as a synchronized BinaryHeap.
+ * 
+ * @author Matheus Alves dos Santos
+ * 
+ */
+public class ConcurrentMultiHeap<T extends Comparable<T>> implements Heap<T> {
+
+	private BinaryHeap<T>[] heaps;
+	private ReentrantLock[] locks;
+	private AtomicInteger size;
+	private Comparator<T> comparator;
+	private int choices;
+
+	private static final int DEFAULT_CHOICES = 2;
+	private static final int INSERTION_ATTEMPTS = 8;
+
+	/**
+	 * Constructs an empty ConcurrentMultiHeap that works based on the given
+	 * comparator. It will contain (2 * available processors) internal heaps and
+	 * will sample two of them on each extraction.
+	 * 
+	 * @param comparator The comparator used by the internal heaps to build their
+	 *                   structure.
+	 * 
+	 */
+	public ConcurrentMultiHeap(Comparator<T> comparator) {
+		this(comparator, 2 * Runtime.getRuntime().availableProcessors(), DEFAULT_CHOICES);
+	}
+
+	/**
+	 * Constructs an empty ConcurrentMultiHeap that works based on the given
+	 * comparator, using the given number of internal heaps and sampling the given
+	 * number of them on each extraction. Both numbers must be positive, and the
+	 * number of choices is limited by the number of internal heaps.
+	 * 
+	 * @param comparator The comparator used by the internal heaps to build their
+	 *                   structure.
+	 * @param queues     The number of internal heaps.
+	 * @param choices    The number of internal heaps compared on each extraction.
+	 * 
+	 */
+	@SuppressWarnings("unchecked")
+	public ConcurrentMultiHeap(Comparator<T> comparator, int queues, int choices) {
+		if ((queues < 1) || (choices < 1)) {
+			throw new IllegalArgumentException("The number of queues and choices must be positive.");
+		}
+
+		this.heaps = new BinaryHeap[queues];
+		this.locks = new ReentrantLock[queues];
+		for (int i = 0; i < queues; i++) {
+			this.heaps[i] = new BinaryHeap<T>(comparator);
+			this.locks[i] = new ReentrantLock();
+		}
+
+		this.size = new AtomicInteger(0);
+		this.comparator = comparator;
+		this.choices = Math.min(choices, queues);
+	}
+
+	public Comparator<T> getComparator() {
+		return this.comparator;
+	}
+
+	public int getQueues() {
+		return this.heaps.length;
+	}
+
+	public int getChoices() {
+		return this.choices;
+	}
+
+	/**
+	 * Returns true, if the heap is empty, or false, otherwise.
+	 * 
+	 * @return the boolean that indicates if the heap is empty.
+	 * 
+	 */
+	@Override
+	public boolean isEmpty() {
+		return (this.size() == 0);
+	}
+
+	/**
+	 * Returns the number of elements contained in the heap. Under concurrent
+	 * modifications, the returned value is only an estimate.
+	 * 
+	 * @return the size of the heap.
+	 * 
+	 */
+	@Override
+	public int size() {
+		return this.size.get();
+	}
+
+	/**
+	 * Returns (without removing) the root element of the heap or null if the heap
+	 * is empty. Every internal heap is locked while the roots are compared, so the
+	 * returned element is the exact root of the whole structure.
+	 * 
+	 * @return the root element of the heap (or null if the heap is empty).
+	 * 
+	 */
+	@Override
+	public T root() {
+		T root = null;
+
+		this.lockAll();
+		try {
+			for (BinaryHeap<T> heap : this.heaps) {
+				root = this.best(root, heap.root());
+			}
+		} finally {
+			this.unlockAll();
+		}
+
+		return root;
+	}
+
+	/**
+	 * Inserts a new element in the heap. Null elements are not allowed. If the
+	 * given element is null, the heap will remain unchanged.
+	 * 
+	 * @param element the element to be inserted.
+	 * 
+	 */
+	@Override
+	public void insert(T element) {
+		if (element != null) {
+			ThreadLocalRandom random = ThreadLocalRandom.current();
+			boolean inserted = false;
+
+			for (int attempt = 0; (attempt < INSERTION_ATTEMPTS) && !inserted; attempt++) {
+				int i = random.nextInt(this.heaps.length);
+
+				if (this.locks[i].tryLock()) {
+					try {
+						this.heaps[i].insert(element);
+						this.size.incrementAndGet();
+						inserted = true;
+					} finally {
+						this.locks[i].unlock();
+					}
+				}
+			}
+
+			if (!inserted) {
+				int i = random.nextInt(this.heaps.length);
+
+				this.locks[i].lock();
+				try {
+					this.heaps[i].insert(element);
+					this.size.incrementAndGet();
+				} finally {
+					this.locks[i].unlock();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Removes and returns an element close to the root of the heap. The roots of
+	 * some randomly sampled internal heaps are compared and the best one is
+	 * extracted. If every sampled heap is empty, all internal heaps are scanned
+	 * and the best of their roots is extracted. If the chosen root is taken by
+	 * another thread before it can be extracted, the sampling is repeated. If the
+	 * heap is empty, this method returns null.
+	 * 
+	 * @return an element close to the root (or null, if the heap is empty).
+	 * 
+	 */
+	@Override
+	public T extract() {
+		T extracted = null;
+
+		while ((extracted == null) && !this.isEmpty()) {
+			extracted = this.extractSampled();
+		}
+
+		return extracted;
+	}
+
+	/**
+	 * Samples the configured number of internal heaps, compares their roots and
+	 * extracts the root of the best heap. If all the sampled heaps are empty, the
+	 * root is chosen by scanning every internal heap instead. Returns null if no
+	 * root was found or if the chosen heap changed before it could be locked.
+	 * 
+	 * @return the extracted element or null.
+	 * 
+	 */
+	private T extractSampled() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		int chosen = -1;
+		T best = null;
+
+		for (int c = 0; c < this.choices; c++) {
+			int i = random.nextInt(this.heaps.length);
+			T candidate = this.peek(i);
+
+			if ((candidate != null) && (this.best(best, candidate) == candidate)) {
+				best = candidate;
+				chosen = i;
+			}
+		}
+
+		return ((chosen != -1) ? this.extractRoot(chosen, best) : this.extractScanning());
+	}
+
+	/**
+	 * Scans all the internal heaps, compares their roots and extracts the root of
+	 * the best heap. Returns null if every internal heap was empty or if the
+	 * chosen heap changed before it could be locked.
+	 * 
+	 * @return the extracted element or null.
+	 * 
+	 */
+	private T extractScanning() {
+		int chosen = -1;
+		T best = null;
+
+		for (int i = 0; i < this.heaps.length; i++) {
+			T candidate = this.peek(i);
+
+			if ((candidate != null) && (this.best(best, candidate) == candidate)) {
+				best = candidate;
+				chosen = i;
+			}
+		}
+
+		return ((chosen != -1) ? this.extractRoot(chosen, best) : null);
+	}
+
+	/**
+	 * Extracts the root of the given internal heap, if it is still the expected
+	 * element. Returns null if another thread changed the root of the heap after
+	 * it was read.
+	 * 
+	 * @param i        the index of the internal heap.
+	 * @param expected the root read from the internal heap.
+	 * 
+	 * @return the extracted element or null.
+	 * 
+	 */
+	private T extractRoot(int i, T expected) {
+		T extracted = null;
+
+		this.locks[i].lock();
+		try {
+			if (this.heaps[i].root() == expected) {
+				extracted = this.heaps[i].extract();
+				this.size.decrementAndGet();
+			}
+		} finally {
+			this.locks[i].unlock();
+		}
+
+		return extracted;
+	}
+
+	/**
+	 * Builds the heap based on the elements of a given array. If the heap is not
+	 * empty when this method is executed, the original elements are lost. The
+	 * elements are distributed evenly over the internal heaps.
+	 * 
+	 * @param array the array containing the elements to build the heap.
+	 * 
+	 */
+	@Override
+	public void build(T[] array) {
+		if (array != null) {
+			this.lockAll();
+			try {
+				int count = 0;
+
+				for (int i = 0; i < this.heaps.length; i++) {
+					this.heaps[i] = new BinaryHeap<T>(this.getComparator());
+				}
+
+				for (T element : array) {
+					if (element != null) {
+						this.heaps[count % this.heaps.length].insert(element);
+						count++;
+					}
+				}
+
+				this.size.set(count);
+			} finally {
+				this.unlockAll();
+			}
+		}
+	}
+
+	/**
+	 * Returns an array containing all the elements in the heap. The array does not
+	 * contain empty spaces (or null elements).
+	 * 
+	 * @return an array with all non-null elements of the heap.
+	 * 
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public T[] toArray() {
+		ArrayList<T> array = new ArrayList<T>();
+
+		this.lockAll();
+		try {
+			for (BinaryHeap<T> heap : this.heaps) {
+				for (T element : heap.toArray()) {
+					array.add(element);
+				}
+			}
+		} finally {
+			this.unlockAll();
+		}
+
+		return (T[]) array.toArray(new Comparable[0]);
+	}
+
+	/**
+	 * Sorts the elements of an array using the heap concept. The method returns a
+	 * copy of the given array containing only the not null elements. The sorting
+	 * is made by a private BinaryHeap, without blocking the other threads. After
+	 * this method is executed, all internal heaps are empty (as required by the
+	 * Heap interface), so they are cleared while all of them are locked.
+	 * 
+	 * @param array an array of T-typed elements.
+	 * 
+	 * @return a sorted copy of the given array.
+	 * 
+	 */
+	@Override
+	public T[] heapsort(T[] array) {
+		T[] sortedArray = new BinaryHeap<T>(this.getComparator()).heapsort(array);
+
+		if (array != null) {
+			this.lockAll();
+			try {
+				for (int i = 0; i < this.heaps.length; i++) {
+					this.heaps[i] = new BinaryHeap<T>(this.getComparator());
+				}
+
+				this.size.set(0);
+			} finally {
+				this.unlockAll();
+			}
+		}
+
+		return sortedArray;
+	}
+
+	/**
+	 * Returns the root of the internal heap stored in the given index, locking it
+	 * only while the root is read.
+	 * 
+	 * @param i the index of the internal heap.
+	 * 
+	 * @return the root of the internal heap (or null, if it is empty).
+	 * 
+	 */
+	private T peek(int i) {
+		T root = null;
+
+		this.locks[i].lock();
+		try {
+			root = this.heaps[i].root();
+		} finally {
+			this.locks[i].unlock();
+		}
+
+		return root;
+	}
+
+	/**
+	 * Returns the element that must be closer to the root among the two given
+	 * elements. Null elements are never chosen, unless both elements are null.
+	 * 
+	 * @param first  the first element.
+	 * @param second the second element.
+	 * 
+	 * @return the element closer to the root.
+	 * 
+	 */
+	private T best(T first, T second) {
+		T best = first;
+
+		if ((first == null) || ((second != null) && (this.getComparator().compare(second, first) > 0))) {
+			best = second;
+		}
+
+		return best;
+	}
+
+	/**
+	 * Locks all the internal heaps, always in the same order.
+	 * 
+	 */
+	private void lockAll() {
+		for (ReentrantLock lock : this.locks) {
+			lock.lock();
+		}
+	}
+
+	/**
+	 * Unlocks all the internal heaps, in the reverse order of locking.
+	 * 
+	 */
+	private void unlockAll() {
+		for (int i = this.locks.length - 1; i >= 0; i--) {
+			this.locks[i].unlock();
+		}
+	}
+
+}
@@ -0,0 +1,502 @@
+package heap;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * An external sorter sorts sequences of elements that do not fit in memory. It
+ * works in two phases. First, the input is read through a bounded heap that
+ * uses replacement selection: an element that is not smaller than the last one
+ * written still belongs to the current run, while a smaller one is kept for the
+ * next run. On random input, this produces sorted runs of about twice the
+ * memory capacity, which are spilled to temporary files. Then, the runs are
+ * combined by a KWayMerger. When there are more runs than the fan-in, they are
+ * merged in several passes.
+ * 
+ * The runs are written and read through buffered streams over file channels,
+ * and the elements are converted to bytes by a pluggable Serializer. After each
+ * sorting, the number of runs, the number of bytes spilled and the number of
+ * merge passes are available as statistics.
+ * 
+ * @author Matheus Alves dos Santos
+ * 
+ */
+public class ExternalSorter<T> {
+
+	private Comparator<? super T> comparator;
+	private Serializer<T> serializer;
+	private int capacity;
+	private int fanIn;
+	private Path directory;
+
+	private long bytesSpilled;
+	private int runs;
+	private int mergePasses;
+
+	private static final int DEFAULT_FAN_IN = 64;
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	/**
+	 * Constructs an ExternalSorter that keeps at most the given number of elements
+	 * in memory and spills its runs to the default temporary directory.
+	 * 
+	 * @param comparator the comparator that defines the order of the elements.
+	 * @param serializer the serializer used to spill the elements.
+	 * @param capacity   the maximum number of elements kept in memory.
+	 * 
+	 */
+	public ExternalSorter(Comparator<? super T> comparator, Serializer<T> serializer, int capacity) {
+		this(comparator, serializer, capacity, DEFAULT_FAN_IN, null);
+	}
+
+	/**
+	 * Constructs an ExternalSorter that keeps at most the given number of elements
+	 * in memory, merges at most fanIn runs at a time and spills its runs to the
+	 * given directory (or to the default temporary directory, if it is null). The
+	 * capacity must be positive and the fan-in must be at least 2.
+	 * 
+	 * @param comparator the comparator that defines the order of the elements.
+	 * @param serializer the serializer used to spill the elements.
+	 * @param capacity   the maximum number of elements kept in memory.
+	 * @param fanIn      the maximum number of runs merged at a time.
+	 * @param directory  the directory where the runs are spilled.
+	 * 
+	 */
+	public ExternalSorter(Comparator<? super T> comparator, Serializer<T> serializer, int capacity, int fanIn,
+			Path directory) {
+		if ((capacity < 1) || (fanIn < 2)) {
+			throw new IllegalArgumentException("The capacity must be positive and the fan-in at least 2.");
+		}
+
+		this.comparator = comparator;
+		this.serializer = serializer;
+		this.capacity = capacity;
+		this.fanIn = fanIn;
+		this.directory = directory;
+	}
+
+	public Comparator<? super T> getComparator() {
+		return this.comparator;
+	}
+
+	public int getCapacity() {
+		return this.capacity;
+	}
+
+	public int getFanIn() {
+		return this.fanIn;
+	}
+
+	/**
+	 * Returns the number of bytes written to temporary files during the last
+	 * sorting, including the runs written by intermediate merge passes.
+	 * 
+	 * @return the number of bytes spilled.
+	 * 
+	 */
+	public long getBytesSpilled() {
+		return this.bytesSpilled;
+	}
+
+	/**
+	 * Returns the number of sorted runs produced by the replacement selection
+	 * during the last sorting.
+	 * 
+	 * @return the number of initial runs.
+	 * 
+	 */
+	public int getRuns() {
+		return this.runs;
+	}
+
+	/**
+	 * Returns the number of merge passes performed during the last sorting,
+	 * including the final one.
+	 * 
+	 * @return the number of merge passes.
+	 * 
+	 */
+	public int getMergePasses() {
+		return this.mergePasses;
+	}
+
+	/**
+	 * Sorts all the elements produced by the given iterator and delivers them, in
+	 * ascending order, to the given output. Null elements are ignored. The
+	 * temporary files are deleted before this method returns.
+	 * 
+	 * @param input  the iterator producing the elements to be sorted.
+	 * @param output the consumer receiving the sorted elements.
+	 * 
+	 * @throws IOException if the runs could not be written or read.
+	 * 
+	 */
+	public void sort(Iterator<? extends T> input, Consumer<? super T> output) throws IOException {
+		List<Path> files = new ArrayList<Path>();
+		this.bytesSpilled = 0;
+		this.runs = 0;
+		this.mergePasses = 0;
+
+		try {
+			List<Run> runs = this.createRuns(input, output, files);
+
+			while (runs.size() > this.fanIn) {
+				runs = this.mergePass(runs, files);
+				this.mergePasses++;
+			}
+
+			if (!runs.isEmpty()) {
+				this.merge(runs, output);
+				this.mergePasses++;
+			}
+		}
+
+		catch (UncheckedIOException exception) {
+			throw exception.getCause();
+		}
+
+		finally {
+			for (Path file : files) {
+				Files.deleteIfExists(file);
+			}
+		}
+	}
+
+	/**
+	 * Reads the whole input through a bounded heap, using replacement selection,
+	 * and spills the produced sorted runs. If the whole input fits in the heap, it
+	 * forms a single run that never leaves memory: its elements are delivered
+	 * straight to the output, and no run is spilled or merged.
+	 * 
+	 * @param input  the iterator producing the elements to be sorted.
+	 * @param output the consumer receiving the sorted elements, if they fit in
+	 *               memory.
+	 * @param files  the list where the created files are registered.
+	 * 
+	 * @return the list of spilled runs.
+	 * 
+	 * @throws IOException if a run could not be written.
+	 * 
+	 */
+	private List<Run> createRuns(Iterator<? extends T> input, Consumer<? super T> output, List<Path> files)
+			throws IOException {
+		List<Run> runs = new ArrayList<Run>();
+		SelectionHeap heap = new SelectionHeap();
+
+		while (input.hasNext() && (heap.size < this.capacity)) {
+			heap.insert(input.next(), 0);
+		}
+
+		if (!input.hasNext()) {
+			this.runs = (heap.size > 0) ? 1 : 0;
+
+			while (heap.size > 0) {
+				output.accept(heap.extract());
+			}
+		}
+
+		RunWriter writer = null;
+		int currentRun = -1;
+
+		while (heap.size > 0) {
+			int run = heap.runs[0];
+			T element = heap.extract();
+
+			if (run != currentRun) {
+				if (writer != null) {
+					runs.add(writer.finish());
+				}
+
+				writer = new RunWriter(files);
+				currentRun = run;
+			}
+
+			writer.write(element);
+
+			T next = null;
+			while (input.hasNext() && (next == null)) {
+				next = input.next();
+			}
+
+			if (next != null) {
+				if (this.comparator.compare(next, element) >= 0) {
+					heap.insert(next, run);
+				} else {
+					heap.insert(next, run + 1);
+				}
+			}
+		}
+
+		if (writer != null) {
+			runs.add(writer.finish());
+		}
+
+		this.runs += runs.size();
+
+		return runs;
+	}
+
+	/**
+	 * Merges the given runs in groups of fanIn runs, spilling the result of each
+	 * group as a new run. The merged runs are deleted.
+	 * 
+	 * @param runs  the runs to be merged.
+	 * @param files the list where the created files are registered.
+	 * 
+	 * @return the list of runs produced by this pass.
+	 * 
+	 * @throws IOException if a run could not be written or read.
+	 * 
+	 */
+	private List<Run> mergePass(List<Run> runs, List<Path> files) throws IOException {
+		List<Run> merged = new ArrayList<Run>();
+
+		for (int i = 0; i < runs.size(); i += this.fanIn) {
+			List<Run> group = runs.subList(i, Math.min(i + this.fanIn, runs.size()));
+			RunWriter writer = new RunWriter(files);
+
+			try {
+				this.merge(group, element -> {
+					try {
+						writer.write(element);
+					} catch (IOException exception) {
+						throw new UncheckedIOException(exception);
+					}
+				});
+			} finally {
+				merged.add(writer.finish());
+			}
+
+			for (Run run : group) {
+				Files.deleteIfExists(run.path);
+			}
+		}
+
+		return merged;
+	}
+
+	/**
+	 * Merges the given runs, delivering their elements in ascending order to the
+	 * given output.
+	 * 
+	 * @param runs   the runs to be merged.
+	 * @param output the consumer receiving the merged elements.
+	 * 
+	 * @throws IOException if a run could not be read.
+	 * 
+	 */
+	private void merge(List<Run> runs, Consumer<? super T> output) throws IOException {
+		List<RunReader> readers = new ArrayList<RunReader>();
+
+		try {
+			for (Run run : runs) {
+				readers.add(new RunReader(run));
+			}
+
+			KWayMerger<T> merger = new KWayMerger<T>(readers, this.comparator);
+			while (merger.hasNext()) {
+				output.accept(merger.next());
+			}
+		}
+
+		finally {
+			for (RunReader reader : readers) {
+				reader.close();
+			}
+		}
+	}
+
+	/**
+	 * A sorted run spilled to a temporary file, containing the given number of
+	 * elements.
+	 * 
+	 */
+	private static class Run {
+
+		private Path path;
+		private long count;
+
+		public Run(Path path, long count) {
+			this.path = path;
+			this.count = count;
+		}
+
+	}
+
+	/**
+	 * Writes a sorted run to a new temporary file.
+	 * 
+	 */
+	private class RunWriter {
+
+		private Path path;
+		private DataOutputStream output;
+		private long count;
+
+		public RunWriter(List<Path> files) throws IOException {
+			if (directory == null) {
+				this.path = Files.createTempFile("run", ".tmp");
+			} else {
+				this.path = Files.createTempFile(directory, "run", ".tmp");
+			}
+
+			files.add(this.path);
+			FileChannel channel = FileChannel.open(this.path, StandardOpenOption.WRITE,
+					StandardOpenOption.TRUNCATE_EXISTING);
+			this.output = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE));
+			this.count = 0;
+		}
+
+		public void write(T element) throws IOException {
+			serializer.write(element, this.output);
+			this.count++;
+		}
+
+		public Run finish() throws IOException {
+			this.output.close();
+			bytesSpilled += Files.size(this.path);
+
+			return new Run(this.path, this.count);
+		}
+
+	}
+
+	/**
+	 * Reads a sorted run from its temporary file, as an iterator.
+	 * 
+	 */
+	private class RunReader implements Iterator<T> {
+
+		private DataInputStream input;
+		private long remaining;
+
+		public RunReader(Run run) throws IOException {
+			FileChannel channel = FileChannel.open(run.path, StandardOpenOption.READ);
+			this.input = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel), BUFFER_SIZE));
+			this.remaining = run.count;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return (this.remaining > 0);
+		}
+
+		@Override
+		public T next() {
+			if (!this.hasNext()) {
+				throw new NoSuchElementException("The run is exhausted.");
+			}
+
+			try {
+				this.remaining--;
+				return serializer.read(this.input);
+			} catch (IOException exception) {
+				throw new UncheckedIOException(exception);
+			}
+		}
+
+		public void close() throws IOException {
+			this.input.close();
+		}
+
+	}
+
+	/**
+	 * The bounded min heap used by the replacement selection. Each element is
+	 * tagged with the run it belongs to, and elements of earlier runs always come
+	 * first.
+	 * 
+	 */
+	private class SelectionHeap {
+
+		private T[] elements;
+		private int[] runs;
+		private int size;
+
+		@SuppressWarnings("unchecked")
+		public SelectionHeap() {
+			this.elements = (T[]) new Object[capacity];
+			this.runs = new int[capacity];
+			this.size = 0;
+		}
+
+		public void insert(T element, int run) {
+			if (element != null) {
+				int position = this.size++;
+				int parent = (position - 1) / 2;
+
+				while ((position > 0) && this.precedes(element, run, this.elements[parent], this.runs[parent])) {
+					this.elements[position] = this.elements[parent];
+					this.runs[position] = this.runs[parent];
+					position = parent;
+					parent = (position - 1) / 2;
+				}
+
+				this.elements[position] = element;
+				this.runs[position] = run;
+			}
+		}
+
+		public T extract() {
+			T root = this.elements[0];
+
+			this.size--;
+			T element = this.elements[this.size];
+			int run = this.runs[this.size];
+			this.elements[this.size] = null;
+
+			if (this.size > 0) {
+				int position = 0;
+
+				while (((position * 2) + 1) < this.size) {
+					int child = (position * 2) + 1;
+
+					if (((child + 1) < this.size) && this.precedes(this.elements[child + 1], this.runs[child + 1], this.elements[child],
+							this.runs[child])) {
+						child++;
+					}
+
+					if (!this.precedes(this.elements[child], this.runs[child], element, run)) {
+						break;
+					}
+
+					this.elements[position] = this.elements[child];
+					this.runs[position] = this.runs[child];
+					position = child;
+				}
+
+				this.elements[position] = element;
+				this.runs[position] = run;
+			}
+
+			return root;
+		}
+
+		private boolean precedes(T element, int run, T other, int otherRun) {
+			boolean precedes = (run < otherRun);
+
+			if (run == otherRun) {
+				precedes = (comparator.compare(element, other) < 0);
+			}
+
+			return precedes;
+		}
+
+	}
+
+}
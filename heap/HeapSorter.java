@@ -0,0 +1,438 @@
+package heap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * This class contains methods for sorting arrays in place using the heap
+ * concept. Besides T-typed arrays, arrays of the primitive types int and long
+ * are supported, so their elements do not need to be boxed.
+ * 
+ * The parallel methods split large arrays into one run per available core.
+ * Each run is heapsorted in place by a fork/join task and, after that, the
+ * sorted runs are combined by a k-way merge driven by a heap of runs. Arrays
+ * smaller than PARALLEL_THRESHOLD are simply heapsorted by the calling thread.
+ * 
+ * @author Matheus Alves dos Santos
+ * 
+ */
+public class HeapSorter {
+
+	private static final int PARALLEL_THRESHOLD = 1 << 13;
+
+	/**
+	 * Represents the sorting of the run between two indexes of an array.
+	 * 
+	 */
+	private interface RunSorter {
+		public void sort(int from, int to);
+	}
+
+	/**
+	 * Sorts the given array in place, in ascending order according to the given
+	 * comparator. The array must not contain null elements.
+	 * 
+	 * @param array      the array to be sorted.
+	 * @param comparator the comparator that defines the order of the elements.
+	 * 
+	 */
+	public static <T> void sort(T[] array, Comparator<? super T> comparator) {
+		if (array != null) {
+			heapsort(array, 0, array.length, comparator);
+		}
+	}
+
+	/**
+	 * Sorts the given array of integers in place, in ascending order.
+	 * 
+	 * @param array the array to be sorted.
+	 * 
+	 */
+	public static void sort(int[] array) {
+		if (array != null) {
+			heapsort(array, 0, array.length);
+		}
+	}
+
+	/**
+	 * Sorts the given array of longs in place, in ascending order.
+	 * 
+	 * @param array the array to be sorted.
+	 * 
+	 */
+	public static void sort(long[] array) {
+		if (array != null) {
+			heapsort(array, 0, array.length);
+		}
+	}
+
+	/**
+	 * Sorts the given array in ascending order according to the given comparator,
+	 * using all the available cores for large arrays. The array must not contain
+	 * null elements.
+	 * 
+	 * @param array      the array to be sorted.
+	 * @param comparator the comparator that defines the order of the elements.
+	 * 
+	 */
+	public static <T> void parallelSort(T[] array, Comparator<? super T> comparator) {
+		if (array != null) {
+			int[] bounds = bounds(array.length);
+
+			sortRuns(bounds, (from, to) -> heapsort(array, from, to, comparator));
+			if (bounds.length > 2) {
+				merge(array, bounds, comparator);
+			}
+		}
+	}
+
+	/**
+	 * Sorts the given array of integers in ascending order, using all the
+	 * available cores for large arrays.
+	 * 
+	 * @param array the array to be sorted.
+	 * 
+	 */
+	public static void parallelSort(int[] array) {
+		if (array != null) {
+			int[] bounds = bounds(array.length);
+
+			sortRuns(bounds, (from, to) -> heapsort(array, from, to));
+			if (bounds.length > 2) {
+				merge(array, bounds);
+			}
+		}
+	}
+
+	/**
+	 * Sorts the given array of longs in ascending order, using all the available
+	 * cores for large arrays.
+	 * 
+	 * @param array the array to be sorted.
+	 * 
+	 */
+	public static void parallelSort(long[] array) {
+		if (array != null) {
+			int[] bounds = bounds(array.length);
+
+			sortRuns(bounds, (from, to) -> heapsort(array, from, to));
+			if (bounds.length > 2) {
+				merge(array, bounds);
+			}
+		}
+	}
+
+	/**
+	 * Splits an array of the given length into runs. The returned array contains
+	 * the first index of each run followed by the length of the array, so the
+	 * run i goes from bounds[i] (inclusive) to bounds[i + 1] (exclusive).
+	 * 
+	 * @param length the length of the array being split.
+	 * 
+	 * @return the bounds of the runs.
+	 * 
+	 */
+	private static int[] bounds(int length) {
+		int runs = Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism(), length / PARALLEL_THRESHOLD));
+		int[] bounds = new int[runs + 1];
+
+		for (int i = 0; i <= runs; i++) {
+			bounds[i] = (int) (((long) length * i) / runs);
+		}
+
+		return bounds;
+	}
+
+	/**
+	 * Sorts each run delimited by the given bounds. A single run is sorted by the
+	 * calling thread, while several runs are sorted in parallel by the common
+	 * fork/join pool.
+	 * 
+	 * @param bounds the bounds of the runs.
+	 * @param sorter the sorting applied to each run.
+	 * 
+	 */
+	private static void sortRuns(int[] bounds, RunSorter sorter) {
+		if (bounds.length == 2) {
+			sorter.sort(bounds[0], bounds[1]);
+		}
+
+		else {
+			List<ForkJoinTask<?>> tasks = new ArrayList<ForkJoinTask<?>>();
+
+			for (int i = 0; i < (bounds.length - 1); i++) {
+				int from = bounds[i];
+				int to = bounds[i + 1];
+				tasks.add(ForkJoinPool.commonPool().submit(() -> sorter.sort(from, to)));
+			}
+
+			for (ForkJoinTask<?> task : tasks) {
+				task.join();
+			}
+		}
+	}
+
+	// THE METHODS BELOW IMPLEMENT THE IN PLACE HEAPSORT OF A RUN [from, to).
+
+	private static <T> void heapsort(T[] array, int from, int to, Comparator<? super T> comparator) {
+		int length = to - from;
+
+		for (int i = (length / 2) - 1; i >= 0; i--) {
+			siftDown(array, from, i, length, comparator);
+		}
+
+		for (int end = length - 1; end > 0; end--) {
+			T element = array[from];
+			array[from] = array[from + end];
+			array[from + end] = element;
+
+			siftDown(array, from, 0, end, comparator);
+		}
+	}
+
+	private static <T> void siftDown(T[] array, int base, int position, int length, Comparator<? super T> comparator) {
+		T element = array[base + position];
+
+		while (((position * 2) + 1) < length) {
+			int child = (position * 2) + 1;
+
+			if (((child + 1) < length) && (comparator.compare(array[base + child + 1], array[base + child]) > 0)) {
+				child++;
+			}
+
+			if (comparator.compare(element, array[base + child]) >= 0) {
+				break;
+			}
+
+			array[base + position] = array[base + child];
+			position = child;
+		}
+
+		array[base + position] = element;
+	}
+
+	private static void heapsort(int[] array, int from, int to) {
+		int length = to - from;
+
+		for (int i = (length / 2) - 1; i >= 0; i--) {
+			siftDown(array, from, i, length);
+		}
+
+		for (int end = length - 1; end > 0; end--) {
+			int element = array[from];
+			array[from] = array[from + end];
+			array[from + end] = element;
+
+			siftDown(array, from, 0, end);
+		}
+	}
+
+	private static void siftDown(int[] array, int base, int position, int length) {
+		int element = array[base + position];
+
+		while (((position * 2) + 1) < length) {
+			int child = (position * 2) + 1;
+
+			if (((child + 1) < length) && (array[base + child + 1] > array[base + child])) {
+				child++;
+			}
+
+			if (element >= array[base + child]) {
+				break;
+			}
+
+			array[base + position] = array[base + child];
+			position = child;
+		}
+
+		array[base + position] = element;
+	}
+
+	private static void heapsort(long[] array, int from, int to) {
+		int length = to - from;
+
+		for (int i = (length / 2) - 1; i >= 0; i--) {
+			siftDown(array, from, i, length);
+		}
+
+		for (int end = length - 1; end > 0; end--) {
+			long element = array[from];
+			array[from] = array[from + end];
+			array[from + end] = element;
+
+			siftDown(array, from, 0, end);
+		}
+	}
+
+	private static void siftDown(long[] array, int base, int position, int length) {
+		long element = array[base + position];
+
+		while (((position * 2) + 1) < length) {
+			int child = (position * 2) + 1;
+
+			if (((child + 1) < length) && (array[base + child + 1] > array[base + child])) {
+				child++;
+			}
+
+			if (element >= array[base + child]) {
+				break;
+			}
+
+			array[base + position] = array[base + child];
+			position = child;
+		}
+
+		array[base + position] = element;
+	}
+
+	// THE METHODS BELOW MERGE THE SORTED RUNS USING A MIN HEAP OF RUN INDEXES,
+	// KEYED BY THE CURRENT ELEMENT OF EACH RUN.
+
+	private static <T> void merge(T[] array, int[] bounds, Comparator<? super T> comparator) {
+		T[] merged = Arrays.copyOf(array, array.length);
+		int[] cursors = Arrays.copyOf(bounds, bounds.length - 1);
+		int[] runs = new int[cursors.length];
+		int size = runs.length;
+
+		for (int i = 0; i < runs.length; i++) {
+			runs[i] = i;
+		}
+
+		for (int i = (size / 2) - 1; i >= 0; i--) {
+			siftDownRuns(merged, cursors, runs, i, size, comparator);
+		}
+
+		for (int i = 0; i < array.length; i++) {
+			int run = runs[0];
+			array[i] = merged[cursors[run]++];
+
+			if (cursors[run] == bounds[run + 1]) {
+				runs[0] = runs[--size];
+			}
+
+			siftDownRuns(merged, cursors, runs, 0, size, comparator);
+		}
+	}
+
+	private static <T> void siftDownRuns(T[] array, int[] cursors, int[] runs, int position, int size,
+			Comparator<? super T> comparator) {
+		int run = runs[position];
+
+		while (((position * 2) + 1) < size) {
+			int child = (position * 2) + 1;
+
+			if (((child + 1) < size)
+					&& (comparator.compare(array[cursors[runs[child + 1]]], array[cursors[runs[child]]]) < 0)) {
+				child++;
+			}
+
+			if (comparator.compare(array[cursors[run]], array[cursors[runs[child]]]) <= 0) {
+				break;
+			}
+
+			runs[position] = runs[child];
+			position = child;
+		}
+
+		runs[position] = run;
+	}
+
+	private static void merge(int[] array, int[] bounds) {
+		int[] merged = Arrays.copyOf(array, array.length);
+		int[] cursors = Arrays.copyOf(bounds, bounds.length - 1);
+		int[] runs = new int[cursors.length];
+		int size = runs.length;
+
+		for (int i = 0; i < runs.length; i++) {
+			runs[i] = i;
+		}
+
+		for (int i = (size / 2) - 1; i >= 0; i--) {
+			siftDownRuns(merged, cursors, runs, i, size);
+		}
+
+		for (int i = 0; i < array.length; i++) {
+			int run = runs[0];
+			array[i] = merged[cursors[run]++];
+
+			if (cursors[run] == bounds[run + 1]) {
+				runs[0] = runs[--size];
+			}
+
+			siftDownRuns(merged, cursors, runs, 0, size);
+		}
+	}
+
+	private static void siftDownRuns(int[] array, int[] cursors, int[] runs, int position, int size) {
+		int run = runs[position];
+
+		while (((position * 2) + 1) < size) {
+			int child = (position * 2) + 1;
+
+			if (((child + 1) < size) && (array[cursors[runs[child + 1]]] < array[cursors[runs[child]]])) {
+				child++;
+			}
+
+			if (array[cursors[run]] <= array[cursors[runs[child]]]) {
+				break;
+			}
+
+			runs[position] = runs[child];
+			position = child;
+		}
+
+		runs[position] = run;
+	}
+
+	private static void merge(long[] array, int[] bounds) {
+		long[] merged = Arrays.copyOf(array, array.length);
+		int[] cursors = Arrays.copyOf(bounds, bounds.length - 1);
+		int[] runs = new int[cursors.length];
+		int size = runs.length;
+
+		for (int i = 0; i < runs.length; i++) {
+			runs[i] = i;
+		}
+
+		for (int i = (size / 2) - 1; i >= 0; i--) {
+			siftDownRuns(merged, cursors, runs, i, size);
+		}
+
+		for (int i = 0; i < array.length; i++) {
+			int run = runs[0];
+			array[i] = merged[cursors[run]++];
+
+			if (cursors[run] == bounds[run + 1]) {
+				runs[0] = runs[--size];
+			}
+
+			siftDownRuns(merged, cursors, runs, 0, size);
+		}
+	}
+
+	private static void siftDownRuns(long[] array, int[] cursors, int[] runs, int position, int size) {
+		int run = runs[position];
+
+		while (((position * 2) + 1) < size) {
+			int child = (position * 2) + 1;
+
+			if (((child + 1) < size) && (array[cursors[runs[child + 1]]] < array[cursors[runs[child]]])) {
+				child++;
+			}
+
+			if (array[cursors[run]] <= array[cursors[runs[child]]]) {
+				break;
+			}
+
+			runs[position] = runs[child];
+			position = child;
+		}
+
+		runs[position] = run;
+	}
+
+}
@@ -0,0 +1,235 @@
+package heap;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A k-way merger combines N sorted sources (iterators or arrays, as the ones
+ * produced by SortedBinaryTree.order()) into a single sorted sequence. The
+ * merge is lazy: each call to next() returns the smallest current element among
+ * all sources and advances only the source that contained it.
+ * 
+ * Internally, the merger is a min heap of source indexes keyed by the current
+ * element of each source. No object is allocated per element (the heap and the
+ * current elements are kept in arrays created once), and each element costs
+ * O(log N) comparisons. Elements with the same order are returned in the order
+ * of their sources, so the merge is stable.
+ * 
+ * @author Matheus Alves dos Santos
+ * 
+ */
+public class KWayMerger<T> implements Iterator<T> {
+
+	private Iterator<? extends T>[] sources;
+	private T[] heads;
+	private int[] heap;
+	private int size;
+	private Comparator<? super T> comparator;
+
+	/**
+	 * Constructs a KWayMerger over the given sorted iterators. Each iterator must
+	 * produce its elements in ascending order according to the given comparator,
+	 * and must not produce null elements. Null iterators are ignored.
+	 * 
+	 * @param sources    the sorted iterators to be merged.
+	 * @param comparator the comparator that defines the order of the elements.
+	 * 
+	 */
+	@SuppressWarnings("unchecked")
+	public KWayMerger(List<? extends Iterator<? extends T>> sources, Comparator<? super T> comparator) {
+		this.sources = sources.toArray(new Iterator[0]);
+		this.heads = (T[]) new Object[this.sources.length];
+		this.heap = new int[this.sources.length];
+		this.comparator = comparator;
+		this.size = 0;
+
+		for (int i = 0; i < this.sources.length; i++) {
+			if ((this.sources[i] != null) && this.sources[i].hasNext()) {
+				this.heads[i] = this.sources[i].next();
+				this.heap[this.size++] = i;
+			}
+		}
+
+		for (int i = (this.size / 2) - 1; i >= 0; i--) {
+			this.siftDown(i);
+		}
+	}
+
+	/**
+	 * Constructs a KWayMerger over the given sorted arrays. Each array must be in
+	 * ascending order according to the given comparator, and must not contain null
+	 * elements. Null arrays are ignored.
+	 * 
+	 * @param comparator the comparator that defines the order of the elements.
+	 * @param arrays     the sorted arrays to be merged.
+	 * 
+	 * @return the KWayMerger over the given arrays.
+	 * 
+	 */
+	@SafeVarargs
+	@SuppressWarnings("unchecked")
+	public static <T> KWayMerger<T> of(Comparator<? super T> comparator, T[]... arrays) {
+		Iterator<T>[] sources = new ArraySource[arrays.length];
+
+		for (int i = 0; i < arrays.length; i++) {
+			if (arrays[i] != null) {
+				sources[i] = new ArraySource<T>(arrays[i]);
+			}
+		}
+
+		return new KWayMerger<T>(Arrays.asList(sources), comparator);
+	}
+
+	public Comparator<? super T> getComparator() {
+		return this.comparator;
+	}
+
+	/**
+	 * Returns the number of sources that still have elements to be merged.
+	 * 
+	 * @return the number of non-exhausted sources.
+	 * 
+	 */
+	public int activeSources() {
+		return this.size;
+	}
+
+	/**
+	 * Returns true, if any source still has elements to be merged, or false,
+	 * otherwise.
+	 * 
+	 * @return the boolean that indicates if the merge has more elements.
+	 * 
+	 */
+	@Override
+	public boolean hasNext() {
+		return (this.size > 0);
+	}
+
+	/**
+	 * Returns (without advancing) the next element of the merge, or null if all
+	 * the sources are exhausted.
+	 * 
+	 * @return the next element of the merge (or null, if there are no more).
+	 * 
+	 */
+	public T peek() {
+		T next = null;
+
+		if (this.hasNext()) {
+			next = this.heads[this.heap[0]];
+		}
+
+		return next;
+	}
+
+	/**
+	 * Returns the next element of the merge, which is the smallest current element
+	 * among all the sources, and advances the source that contained it.
+	 * 
+	 * @return the next element of the merge.
+	 * 
+	 * @throws NoSuchElementException if all the sources are exhausted.
+	 * 
+	 */
+	@Override
+	public T next() {
+		if (!this.hasNext()) {
+			throw new NoSuchElementException("All the sources are exhausted.");
+		}
+
+		int source = this.heap[0];
+		T next = this.heads[source];
+
+		if (this.sources[source].hasNext()) {
+			this.heads[source] = this.sources[source].next();
+		} else {
+			this.heads[source] = null;
+			this.heap[0] = this.heap[--this.size];
+		}
+
+		if (this.hasNext()) {
+			this.siftDown(0);
+		}
+
+		return next;
+	}
+
+	/**
+	 * This method validates if the current element of the first given source must
+	 * be returned before the current element of the second given source. Ties are
+	 * broken by the source index to keep the merge stable.
+	 * 
+	 * @param i the index of the first source.
+	 * @param j the index of the second source.
+	 * 
+	 * @return the boolean that indicates if the first source comes first.
+	 * 
+	 */
+	private boolean precedes(int i, int j) {
+		int comparison = this.comparator.compare(this.heads[i], this.heads[j]);
+		return ((comparison < 0) || ((comparison == 0) && (i < j)));
+	}
+
+	/**
+	 * Moves the source stored in the given position of the heap down until none
+	 * of its children precedes it.
+	 * 
+	 * @param position the position of the source in the heap.
+	 * 
+	 */
+	private void siftDown(int position) {
+		int source = this.heap[position];
+
+		while (((position * 2) + 1) < this.size) {
+			int child = (position * 2) + 1;
+
+			if (((child + 1) < this.size) && this.precedes(this.heap[child + 1], this.heap[child])) {
+				child++;
+			}
+
+			if (this.precedes(source, this.heap[child])) {
+				break;
+			}
+
+			this.heap[position] = this.heap[child];
+			position = child;
+		}
+
+		this.heap[position] = source;
+	}
+
+	/**
+	 * A minimal iterator over an array, used to merge arrays without copying them.
+	 * 
+	 */
+	private static class ArraySource<T> implements Iterator<T> {
+
+		private T[] array;
+		private int index;
+
+		public ArraySource(T[] array) {
+			this.array = array;
+			this.index = 0;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return (this.index < this.array.length);
+		}
+
+		@Override
+		public T next() {
+			if (!this.hasNext()) {
+				throw new NoSuchElementException("The array is exhausted.");
+			}
+
+			return this.array[this.index++];
+		}
+
+	}
+
+}
@@ -0,0 +1,370 @@
+package heap;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * A min-max heap is a double-ended priority queue: both its smallest and its
+ * greatest elements can be accessed in O(1) time and removed in O(log n) time.
+ * It is a complete binary tree stored in an array, whose levels alternate
+ * between min levels (even depths, starting at the root) and max levels (odd
+ * depths). A node on a min level is smaller than or equal to all its
+ * descendants, while a node on a max level is greater than or equal to all its
+ * descendants. Therefore, the smallest element is the root and the greatest
+ * element is one of its children.
+ * 
+ * @author Matheus Alves dos Santos
+ * 
+ */
+public class MinMaxHeap<T extends Comparable<T>> {
+
+	private T[] heap;
+	private int index;
+	private Comparator<T> comparator;
+
+	private static final int INITIAL_SIZE = 20;
+	private static final int INCREASING_FACTOR = 10;
+
+	/**
+	 * Constructs an empty MinMaxHeap that orders its elements based on the given
+	 * comparator. Its internal array initial size is defined by the constant
+	 * INITIAL_SIZE above (originally 20).
+	 * 
+	 * @param comparator The comparator used by the MinMaxHeap to build its
+	 *                   structure.
+	 * 
+	 */
+	@SuppressWarnings("unchecked")
+	public MinMaxHeap(Comparator<T> comparator) {
+		this.heap = (T[]) (new Comparable[INITIAL_SIZE]);
+		this.comparator = comparator;
+		this.index = -1;
+	}
+
+	public Comparator<T> getComparator() {
+		return this.comparator;
+	}
+
+	/**
+	 * Returns true, if the heap is empty, or false, otherwise.
+	 * 
+	 * @return the boolean that indicates if the heap is empty.
+	 * 
+	 */
+	public boolean isEmpty() {
+		return (this.index == -1);
+	}
+
+	/**
+	 * Returns the number of elements contained in the heap.
+	 * 
+	 * @return the size of the heap.
+	 * 
+	 */
+	public int size() {
+		return (this.index + 1);
+	}
+
+	/**
+	 * Returns (without removing) the smallest element of the heap or null if the
+	 * heap is empty.
+	 * 
+	 * @return the smallest element of the heap (or null if the heap is empty).
+	 * 
+	 */
+	public T min() {
+		T min = null;
+
+		if (!this.isEmpty()) {
+			min = this.heap[0];
+		}
+
+		return min;
+	}
+
+	/**
+	 * Returns (without removing) the greatest element of the heap or null if the
+	 * heap is empty.
+	 * 
+	 * @return the greatest element of the heap (or null if the heap is empty).
+	 * 
+	 */
+	public T max() {
+		T max = null;
+
+		if (!this.isEmpty()) {
+			max = this.heap[this.maxIndex()];
+		}
+
+		return max;
+	}
+
+	/**
+	 * Inserts a new element in the heap. Null elements are not allowed. If the
+	 * given element is null, the heap will remain unchanged.
+	 * 
+	 * @param element the element to be inserted.
+	 * 
+	 */
+	public void insert(T element) {
+		if (element != null) {
+			if (this.index == (this.heap.length - 1)) {
+				this.heap = Arrays.copyOf(this.heap, this.heap.length + INCREASING_FACTOR);
+			}
+
+			this.index++;
+			this.heap[this.index] = element;
+			this.bubbleUp(this.index);
+		}
+	}
+
+	/**
+	 * Removes and returns the smallest element of the heap. If the heap is empty,
+	 * this method returns null.
+	 * 
+	 * @return the smallest element (or null, if the heap is empty).
+	 * 
+	 */
+	public T extractMin() {
+		T min = null;
+
+		if (!this.isEmpty()) {
+			min = this.removeAt(0);
+		}
+
+		return min;
+	}
+
+	/**
+	 * Removes and returns the greatest element of the heap. If the heap is empty,
+	 * this method returns null.
+	 * 
+	 * @return the greatest element (or null, if the heap is empty).
+	 * 
+	 */
+	public T extractMax() {
+		T max = null;
+
+		if (!this.isEmpty()) {
+			max = this.removeAt(this.maxIndex());
+		}
+
+		return max;
+	}
+
+	/**
+	 * Builds the heap based on the elements of a given array, in O(n) time. If the
+	 * heap is not empty when this method is executed, the original elements are
+	 * lost. Null elements of the array are ignored and the array is not modified.
+	 * 
+	 * @param array the array containing the elements to build the heap.
+	 * 
+	 */
+	@SuppressWarnings("unchecked")
+	public void build(T[] array) {
+		if (array != null) {
+			this.heap = (T[]) (new Comparable[Math.max(INITIAL_SIZE, array.length)]);
+			this.index = -1;
+
+			for (T element : array) {
+				if (element != null) {
+					this.heap[++this.index] = element;
+				}
+			}
+
+			for (int i = (this.size() / 2) - 1; i >= 0; i--) {
+				this.trickleDown(i);
+			}
+		}
+	}
+
+	/**
+	 * Returns an array containing all the elements in the heap. The array does not
+	 * contain empty spaces (or null elements).
+	 * 
+	 * @return an array with all non-null elements of the heap.
+	 * 
+	 */
+	public T[] toArray() {
+		return Arrays.copyOf(this.heap, this.size());
+	}
+
+	/**
+	 * Returns the index of the greatest element of a non-empty heap. It is the root
+	 * if the heap has only one element, or the greatest child of the root,
+	 * otherwise.
+	 * 
+	 * @return the index of the greatest element.
+	 * 
+	 */
+	private int maxIndex() {
+		int maxIndex = 0;
+
+		if (this.index == 1) {
+			maxIndex = 1;
+		} else if (this.index >= 2) {
+			maxIndex = this.lessThan(1, 2) ? 2 : 1;
+		}
+
+		return maxIndex;
+	}
+
+	/**
+	 * Removes the element stored in the given index, replacing it with the last
+	 * element of the heap and restoring the min-max heap property.
+	 * 
+	 * @param position the index of the element to be removed.
+	 * 
+	 * @return the removed element.
+	 * 
+	 */
+	private T removeAt(int position) {
+		T removed = this.heap[position];
+
+		this.heap[position] = this.heap[this.index];
+		this.heap[this.index] = null;
+		this.index--;
+
+		if (position <= this.index) {
+			this.trickleDown(position);
+		}
+
+		return removed;
+	}
+
+	/**
+	 * Returns true if the given index is on a min level (an even depth) of the
+	 * heap, or false, otherwise.
+	 * 
+	 * @param position the index being checked.
+	 * 
+	 * @return the boolean that indicates if the index is on a min level.
+	 * 
+	 */
+	private boolean isMinLevel(int position) {
+		return (((31 - Integer.numberOfLeadingZeros(position + 1)) % 2) == 0);
+	}
+
+	private boolean lessThan(int i, int j) {
+		return (this.comparator.compare(this.heap[i], this.heap[j]) < 0);
+	}
+
+	private boolean isBetter(int i, int j, boolean minLevel) {
+		return (minLevel ? this.lessThan(i, j) : this.lessThan(j, i));
+	}
+
+	private void swap(int i, int j) {
+		T element = this.heap[i];
+		this.heap[i] = this.heap[j];
+		this.heap[j] = element;
+	}
+
+	/**
+	 * Moves the element stored in the given index up, through the min levels or
+	 * through the max levels, until the min-max heap property holds.
+	 * 
+	 * @param position the index of the element to be moved.
+	 * 
+	 */
+	private void bubbleUp(int position) {
+		if (position > 0) {
+			int parent = (position - 1) / 2;
+
+			if (this.isMinLevel(position)) {
+				if (this.lessThan(parent, position)) {
+					this.swap(position, parent);
+					this.bubbleUp(parent, false);
+				} else {
+					this.bubbleUp(position, true);
+				}
+			}
+
+			else {
+				if (this.lessThan(position, parent)) {
+					this.swap(position, parent);
+					this.bubbleUp(parent, true);
+				} else {
+					this.bubbleUp(position, false);
+				}
+			}
+		}
+	}
+
+	// ITERATIVE AUXILIAR METHOD TO: bubbleUp(int position).
+	private void bubbleUp(int position, boolean minLevel) {
+		while (position > 2) {
+			int grandparent = (((position - 1) / 2) - 1) / 2;
+
+			if (this.isBetter(position, grandparent, minLevel)) {
+				this.swap(position, grandparent);
+				position = grandparent;
+			} else {
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Moves the element stored in the given index down, through the min levels or
+	 * through the max levels, until the min-max heap property holds.
+	 * 
+	 * @param position the index of the element to be moved.
+	 * 
+	 */
+	private void trickleDown(int position) {
+		boolean minLevel = this.isMinLevel(position);
+
+		while (((position * 2) + 1) <= this.index) {
+			int best = this.bestDescendant(position, minLevel);
+			boolean grandchild = (best > ((position * 2) + 2));
+
+			if (this.isBetter(best, position, minLevel)) {
+				this.swap(best, position);
+
+				if (grandchild) {
+					int parent = (best - 1) / 2;
+
+					if (this.isBetter(parent, best, minLevel)) {
+						this.swap(best, parent);
+					}
+
+					position = best;
+				} else {
+					break;
+				}
+			} else {
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Returns the index of the smallest (on min levels) or greatest (on max
+	 * levels) element among the children and grandchildren of the given index.
+	 * The given index must have at least one child.
+	 * 
+	 * @param position the index whose descendants are being compared.
+	 * @param minLevel the boolean that indicates if the index is on a min level.
+	 * 
+	 * @return the index of the best child or grandchild.
+	 * 
+	 */
+	private int bestDescendant(int position, boolean minLevel) {
+		int child = (position * 2) + 1;
+		int best = child;
+		int last = Math.min((child * 2) + 4, this.index);
+
+		if (((child + 1) <= this.index) && this.isBetter(child + 1, best, minLevel)) {
+			best = child + 1;
+		}
+
+		for (int grandchild = (child * 2) + 1; grandchild <= last; grandchild++) {
+			if (this.isBetter(grandchild, best, minLevel)) {
+				best = grandchild;
+			}
+		}
+
+		return best;
+	}
+
+}
@@ -0,0 +1,41 @@
+package heap;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * A serializer converts T-typed elements to bytes and back. It is used by the
+ * ExternalSorter to spill its sorted runs to temporary files and to read them
+ * again during the merge.
+ * 
+ * @author Matheus Alves dos Santos
+ * 
+ */
+public interface Serializer<T> {
+
+	/**
+	 * Writes the given element to the given output.
+	 * 
+	 * @param element the element to be written.
+	 * @param output  the output where the element must be written.
+	 * 
+	 * @throws IOException if the element could not be written.
+	 * 
+	 */
+	public void write(T element, DataOutput output) throws IOException;
+
+	/**
+	 * Reads an element, previously written by this serializer, from the given
+	 * input.
+	 * 
+	 * @param input the input where the element must be read from.
+	 * 
+	 * @return the element read.
+	 * 
+	 * @throws IOException if the element could not be read.
+	 * 
+	 */
+	public T read(DataInput input) throws IOException;
+
+}
@@ -0,0 +1,236 @@
+package heap;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+
+/**
+ * A top-K selector keeps only the K greatest elements (according to a given
+ * comparator) of a stream whose size may be unknown or unbounded. Internally,
+ * it is a bounded min heap of capacity K: its root is the smallest kept
+ * element, so a new element is only stored if it beats the root, which is then
+ * replaced. Each offered element costs O(log K) time and the memory used never
+ * exceeds K elements.
+ * 
+ * @author Matheus Alves dos Santos
+ * 
+ */
+public class TopKSelector<T extends Comparable<T>> {
+
+	private T[] heap;
+	private int index;
+	private Comparator<T> comparator;
+
+	/**
+	 * Constructs an empty TopKSelector that keeps the K greatest elements
+	 * according to the given comparator. The capacity K must be positive.
+	 * 
+	 * @param k          The number of elements to be kept.
+	 * @param comparator The comparator that defines which elements are greater.
+	 * 
+	 */
+	@SuppressWarnings("unchecked")
+	public TopKSelector(int k, Comparator<T> comparator) {
+		if (k < 1) {
+			throw new IllegalArgumentException("The number of kept elements must be positive.");
+		}
+
+		this.heap = (T[]) (new Comparable[k]);
+		this.comparator = comparator;
+		this.index = -1;
+	}
+
+	public int getK() {
+		return this.heap.length;
+	}
+
+	public Comparator<T> getComparator() {
+		return this.comparator;
+	}
+
+	/**
+	 * Returns true, if no element is kept by the selector, or false, otherwise.
+	 * 
+	 * @return the boolean that indicates if the selector is empty.
+	 * 
+	 */
+	public boolean isEmpty() {
+		return (this.index == -1);
+	}
+
+	/**
+	 * Returns the number of elements kept by the selector. It is never greater
+	 * than K.
+	 * 
+	 * @return the number of kept elements.
+	 * 
+	 */
+	public int size() {
+		return (this.index + 1);
+	}
+
+	/**
+	 * Returns true, if the selector already keeps K elements, or false, otherwise.
+	 * 
+	 * @return the boolean that indicates if the selector is full.
+	 * 
+	 */
+	public boolean isFull() {
+		return (this.size() == this.getK());
+	}
+
+	/**
+	 * Returns (without removing) the smallest kept element, or null if the
+	 * selector is empty. When the selector is full, a new element must be greater
+	 * than this one to be kept.
+	 * 
+	 * @return the smallest kept element (or null if the selector is empty).
+	 * 
+	 */
+	public T threshold() {
+		T threshold = null;
+
+		if (!this.isEmpty()) {
+			threshold = this.heap[0];
+		}
+
+		return threshold;
+	}
+
+	/**
+	 * Offers a new element to the selector. While the selector is not full, the
+	 * element is always kept. Otherwise, it is kept only if it is greater than the
+	 * current threshold, which is discarded. Null elements are ignored.
+	 * 
+	 * @param element the element being offered.
+	 * 
+	 * @return the boolean that indicates if the element was kept.
+	 * 
+	 */
+	public boolean offer(T element) {
+		boolean kept = false;
+
+		if (element != null) {
+			if (!this.isFull()) {
+				this.index++;
+				this.heap[this.index] = element;
+				this.siftUp(this.index);
+				kept = true;
+			}
+
+			else if (this.comparator.compare(element, this.heap[0]) > 0) {
+				this.heap[0] = element;
+				this.siftDown(0);
+				kept = true;
+			}
+		}
+
+		return kept;
+	}
+
+	/**
+	 * Offers every element produced by the given iterator to the selector. The
+	 * iterator is consumed until it has no more elements.
+	 * 
+	 * @param elements the iterator producing the elements being offered.
+	 * 
+	 */
+	public void offerAll(Iterator<? extends T> elements) {
+		if (elements != null) {
+			while (elements.hasNext()) {
+				this.offer(elements.next());
+			}
+		}
+	}
+
+	/**
+	 * Offers every element of the given iterable (a collection or a stream
+	 * adapted by stream::iterator, for example) to the selector.
+	 * 
+	 * @param elements the iterable containing the elements being offered.
+	 * 
+	 */
+	public void offerAll(Iterable<? extends T> elements) {
+		if (elements != null) {
+			this.offerAll(elements.iterator());
+		}
+	}
+
+	/**
+	 * Discards all the elements kept by the selector.
+	 * 
+	 */
+	public void clear() {
+		Arrays.fill(this.heap, null);
+		this.index = -1;
+	}
+
+	/**
+	 * Returns an array containing the kept elements, from the greatest to the
+	 * smallest one. The selector remains unchanged.
+	 * 
+	 * @return an array with the kept elements in descending order.
+	 * 
+	 */
+	public T[] toArray() {
+		T[] array = Arrays.copyOf(this.heap, this.size());
+		Arrays.sort(array, this.comparator.reversed());
+
+		return array;
+	}
+
+	/**
+	 * Moves the element stored in the given index up until its parent is not
+	 * greater than it.
+	 * 
+	 * @param position the index of the element to be moved.
+	 * 
+	 */
+	private void siftUp(int position) {
+		T element = this.heap[position];
+
+		while (position > 0) {
+			int parent = (position - 1) / 2;
+
+			if (this.comparator.compare(element, this.heap[parent]) >= 0) {
+				break;
+			}
+
+			this.heap[position] = this.heap[parent];
+			position = parent;
+		}
+
+		this.heap[position] = element;
+	}
+
+	/**
+	 * Moves the element stored in the given index down until none of its children
+	 * is smaller than it.
+	 * 
+	 * @param position the index of the element to be moved.
+	 * 
+	 */
+	private void siftDown(int position) {
+		T element = this.heap[position];
+		int half = this.size() / 2;
+
+		while (position < half) {
+			int child = (position * 2) + 1;
+			int right = child + 1;
+
+			if ((right <= this.index) && (this.comparator.compare(this.heap[right], this.heap[child]) < 0)) {
+				child = right;
+			}
+
+			if (this.comparator.compare(element, this.heap[child]) <= 0) {
+				break;
+			}
+
+			this.heap[position] = this.heap[child];
+			position = child;
+		}
+
+		this.heap[position] = element;
+	}
+
+}
@@ -1,7 +1,15 @@
 package searchTree;
 
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
 import abstractions.BinarySearchTree;
 import binaryTree.BinaryTreeNode;
+import binaryTree.Rotator;
 
 /**
  * A binary search tree, sometimes called ordered or sorted binary tree, is a
@@ -10,6 +18,10 @@ import binaryTree.BinaryTreeNode;
  * sorted order, so its operations can use the principle of binary search. Each
  * node of the tree contains a comparable T-typed element.
  * 
+ * Every node caches the size and the height of its subtree. These values are
+ * updated along the path from the changed node to the root after each
+ * insertion, removal or rotation, so size() and height() take O(1) time.
+ * 
  * @author Matheus Alves dos Santos
  * 
  */
@@ -22,7 +34,18 @@ public class SortedBinaryTree<T extends Comparable<T>> implements BinarySearchTr
 	 * 
 	 */
 	public SortedBinaryTree() {
-		this.root = new BinaryTreeNode<T>();
+		this.root = this.createNil();
+	}
+
+	/**
+	 * Creates a new NIL node of the type used by the tree. Subclasses that use
+	 * specialized nodes must override this method.
+	 * 
+	 * @return a new NIL node.
+	 * 
+	 */
+	protected BinaryTreeNode<T> createNil() {
+		return new BinaryTreeNode<T>();
 	}
 
 	protected BinaryTreeNode<T> getRoot() {
@@ -75,18 +98,7 @@ public class SortedBinaryTree<T extends Comparable<T>> implements BinarySearchTr
 	 */
 	@Override
 	public int size() {
-		return this.size(this.getRoot());
-	}
-
-	// RECURSIVE AUXILIAR METHOD TO: size().
-	private int size(BinaryTreeNode<T> currentNode) {
-		int size = 0;
-
-		if (!currentNode.isEmpty()) {
-			size = 1 + this.size(currentNode.getLeft()) + this.size(currentNode.getRight());
-		}
-
-		return size;
+		return this.getRoot().getSize();
 	}
 
 	/**
@@ -102,18 +114,17 @@ public class SortedBinaryTree<T extends Comparable<T>> implements BinarySearchTr
 		return this.height(this.getRoot());
 	}
 
-	// RECURSIVE AUXILIAR METHOD TO: height().
-	protected int height(BinaryTreeNode<T> currentNode) {
-		int height = -1;
-
-		if (!currentNode.isEmpty()) {
-			int leftHeight = this.height(currentNode.getLeft());
-			int rightHeight = this.height(currentNode.getRight());
-
-			height = Math.max(leftHeight, rightHeight) + 1;
-		}
-
-		return height;
+	/**
+	 * Returns the height of the subtree whose root is the given node, as cached by
+	 * the node.
+	 * 
+	 * @param node the root of the subtree.
+	 * 
+	 * @return the height of the subtree.
+	 * 
+	 */
+	protected int height(BinaryTreeNode<T> node) {
+		return node.getHeight();
 	}
 
 	/**
@@ -125,31 +136,147 @@ public class SortedBinaryTree<T extends Comparable<T>> implements BinarySearchTr
 	 */
 	@Override
 	public void insert(T element) {
-		this.insert(element, this.getRoot());
-	}
-
-	// RECURSIVE AUXILIAR METHOD TO: insert(T element).
-	private void insert(T element, BinaryTreeNode<T> currentNode) {
 		if (this.isValidInput(element)) {
-			if (currentNode.isEmpty()) {
-				currentNode.setData(element);
-				currentNode.setLeft(new BinaryTreeNode<T>());
-				currentNode.setRight(new BinaryTreeNode<T>());
+			BinaryTreeNode<T> currentNode = this.getRoot();
 
-				currentNode.getLeft().setParent(currentNode);
-				currentNode.getRight().setParent(currentNode);
+			while (!currentNode.isEmpty()) {
+				if (element.compareTo(currentNode.getData()) < 0) {
+					currentNode = currentNode.getLeft();
+				} else {
+					currentNode = currentNode.getRight();
+				}
 			}
 
-			else {
-				if (element.compareTo(currentNode.getData()) < 0) {
-					this.insert(element, currentNode.getLeft());
+			this.fill(currentNode, element);
+			this.retrace(currentNode);
+		}
+	}
+
+	/**
+	 * Stores the given element in the given NIL node, which receives two new NIL
+	 * children.
+	 * 
+	 * @param node    the NIL node that will store the element.
+	 * @param element the element to be stored.
+	 * 
+	 */
+	protected void fill(BinaryTreeNode<T> node, T element) {
+		node.setData(element);
+		node.setLeft(this.createNil());
+		node.setRight(this.createNil());
+
+		node.getLeft().setParent(node);
+		node.getRight().setParent(node);
+		node.update();
+	}
+
+	/**
+	 * Replaces the contents of the tree by the elements of the given array, which
+	 * must be in ascending order, in O(n) time. The middle element becomes the
+	 * root and each half is built recursively in the same way, so the tree is
+	 * perfectly balanced (its height is floor(log n)) without any comparison
+	 * between elements or rotation. Null elements of the array are ignored and
+	 * the array is not modified. If the given array is null, the tree will remain
+	 * unchanged.
+	 * 
+	 * @param sorted the array containing the elements in ascending order.
+	 * 
+	 * @throws IllegalArgumentException if the elements are not in ascending order.
+	 * 
+	 */
+	@SuppressWarnings("unchecked")
+	public void buildFromSorted(T[] sorted) {
+		if (sorted != null) {
+			int nulls = 0;
+			T previous = null;
+
+			for (T element : sorted) {
+				if (element == null) {
+					nulls++;
+				} else if ((previous != null) && (previous.compareTo(element) > 0)) {
+					throw new IllegalArgumentException("The elements must be in ascending order.");
 				} else {
-					this.insert(element, currentNode.getRight());
+					previous = element;
 				}
 			}
+
+			if (nulls > 0) {
+				T[] elements = (T[]) new Comparable[sorted.length - nulls];
+				int index = 0;
+
+				for (T element : sorted) {
+					if (element != null) {
+						elements[index++] = element;
+					}
+				}
+
+				sorted = elements;
+			}
+
+			int height = (sorted.length == 0) ? -1 : (31 - Integer.numberOfLeadingZeros(sorted.length));
+
+			this.setRoot(this.createNil());
+			this.build(this.getRoot(), sorted, 0, sorted.length - 1, 0, height);
+		}
+	}
+
+	/**
+	 * Replaces the contents of the tree by the elements produced by the given
+	 * iterator, which must be in ascending order, in O(n) time. The elements are
+	 * gathered in an array and the tree is built as in buildFromSorted(T[]). If
+	 * the given iterator is null, the tree will remain unchanged.
+	 * 
+	 * @param sorted the iterator that produces the elements in ascending order.
+	 * 
+	 * @throws IllegalArgumentException if the elements are not in ascending order.
+	 * 
+	 */
+	@SuppressWarnings("unchecked")
+	public void buildFromSorted(Iterator<? extends T> sorted) {
+		if (sorted != null) {
+			T[] elements = (T[]) new Comparable[16];
+			int size = 0;
+
+			while (sorted.hasNext()) {
+				if (size == elements.length) {
+					elements = Arrays.copyOf(elements, size + (size >> 1));
+				}
+
+				elements[size++] = sorted.next();
+			}
+
+			this.buildFromSorted(Arrays.copyOf(elements, size));
+		}
+	}
+
+	// RECURSIVE AUXILIAR METHOD TO: buildFromSorted(T[] sorted).
+	private void build(BinaryTreeNode<T> node, T[] sorted, int first, int last, int depth, int height) {
+		if (first <= last) {
+			int middle = (first + last) >>> 1;
+
+			this.fill(node, sorted[middle]);
+			this.build(node.getLeft(), sorted, first, middle - 1, depth + 1, height);
+			this.build(node.getRight(), sorted, middle + 1, last, depth + 1, height);
+
+			node.update();
+			this.built(node, depth, height);
 		}
 	}
 
+	/**
+	 * Called by buildFromSorted for each node it creates, after both subtrees of
+	 * the node were built. Self-balancing subtrees override this method to set
+	 * their extra attributes. In the built tree, every NIL node is at depth
+	 * height or (height + 1).
+	 * 
+	 * @param node   the node just built.
+	 * @param depth  the depth of the node (0 for the root).
+	 * @param height the height of the whole built tree.
+	 * 
+	 */
+	protected void built(BinaryTreeNode<T> node, int depth, int height) {
+	}
+
 	/**
 	 * Removes an element from the binary tree. If the tree does not contain the
 	 * element, the tree must remain unchanged.
@@ -163,58 +290,113 @@ public class SortedBinaryTree<T extends Comparable<T>> implements BinarySearchTr
 			BinaryTreeNode<T> node = this.search(element);
 
 			if (!node.isEmpty()) {
-				this.remove(node);
+				this.retrace(this.remove(node));
 			}
 		}
 	}
 
-	// RECURSIVE AUXILIAR METHOD TO: remove(T element).
-	private void remove(BinaryTreeNode<T> currentNode) {
-		if (currentNode.isLeaf()) {
-			currentNode.setData(null);
-			currentNode.setLeft(null);
-			currentNode.setRight(null);
+	/**
+	 * Removes the given node from the tree. A node with two children receives the
+	 * data of its successor, which is removed instead. The removed node is
+	 * replaced by its only non-NIL child (or by a NIL node).
+	 * 
+	 * @param node the node to be removed.
+	 * 
+	 * @return the parent of the node physically removed (null if it was the root).
+	 * 
+	 */
+	protected BinaryTreeNode<T> remove(BinaryTreeNode<T> node) {
+		if (!node.getLeft().isEmpty() && !node.getRight().isEmpty()) {
+			BinaryTreeNode<T> successor = this.minimum(node.getRight());
+			node.setData(successor.getData());
+			node = successor;
 		}
 
-		else if (currentNode.getLeft().isEmpty() || currentNode.getRight().isEmpty()) {
-			if (currentNode.equals(this.getRoot())) {
-				if (currentNode.getLeft().isEmpty()) {
-					this.setRoot(currentNode.getRight());
-				} else {
-					this.setRoot(currentNode.getLeft());
-				}
-			}
+		BinaryTreeNode<T> parent = node.getParent();
 
-			else {
-				if (currentNode.equals(currentNode.getParent().getLeft())) {
-					if (currentNode.getLeft().isEmpty()) {
-						currentNode.getParent().setLeft(currentNode.getRight());
-						currentNode.getRight().setParent(currentNode.getParent());
-					} else {
-						currentNode.getParent().setLeft(currentNode.getLeft());
-						currentNode.getLeft().setParent(currentNode.getParent());
-					}
-				} else {
-					if (currentNode.getLeft().isEmpty()) {
-						currentNode.getParent().setRight(currentNode.getRight());
-						currentNode.getRight().setParent(currentNode.getParent());
-					} else {
-						currentNode.getParent().setRight(currentNode.getLeft());
-						currentNode.getLeft().setParent(currentNode.getParent());
-					}
-				}
-			}
+		if (node.getLeft().isEmpty()) {
+			this.replace(node, node.getRight());
+		} else {
+			this.replace(node, node.getLeft());
 		}
 
-		else {
-			BinaryTreeNode<T> sucessor = this.successor(currentNode.getData());
-			T sucessorData = sucessor.getData();
-			this.remove(sucessor);
+		return parent;
+	}
+
+	/**
+	 * Puts the given replacement in the place of the given node, linking it to the
+	 * node parent (or making it the root of the tree).
+	 * 
+	 * @param node        the node being replaced.
+	 * @param replacement the node that takes its place.
+	 * 
+	 */
+	protected void replace(BinaryTreeNode<T> node, BinaryTreeNode<T> replacement) {
+		BinaryTreeNode<T> parent = node.getParent();
+		replacement.setParent(parent);
+
+		if (parent == null) {
+			this.setRoot(replacement);
+		} else if (parent.getLeft() == node) {
+			parent.setLeft(replacement);
+		} else {
+			parent.setRight(replacement);
+		}
+	}
 
-			currentNode.setData(sucessorData);
+	/**
+	 * Walks from the given node up to the root, recalculating the cached size and
+	 * height of each node in the path. Self-balancing subtrees override this
+	 * method to also restore their balance.
+	 * 
+	 * @param node the lowest node whose subtree has changed (may be null).
+	 * 
+	 */
+	protected void retrace(BinaryTreeNode<T> node) {
+		while (node != null) {
+			node.update();
+			node = node.getParent();
 		}
 	}
 
+	/**
+	 * Rotates the subtree (whose root is the given node) to the left, updating the
+	 * root of the tree if needed.
+	 * 
+	 * @param node the node that is root of the subtree to be rotated.
+	 * 
+	 * @return the new root of the subtree.
+	 * 
+	 */
+	protected BinaryTreeNode<T> leftRotation(BinaryTreeNode<T> node) {
+		BinaryTreeNode<T> newRoot = Rotator.leftRotation(node);
+
+		if (this.getRoot() == node) {
+			this.setRoot(newRoot);
+		}
+
+		return newRoot;
+	}
+
+	/**
+	 * Rotates the subtree (whose root is the given node) to the right, updating the
+	 * root of the tree if needed.
+	 * 
+	 * @param node the node that is root of the subtree to be rotated.
+	 * 
+	 * @return the new root of the subtree.
+	 * 
+	 */
+	protected BinaryTreeNode<T> rightRotation(BinaryTreeNode<T> node) {
+		BinaryTreeNode<T> newRoot = Rotator.rightRotation(node);
+
+		if (this.getRoot() == node) {
+			this.setRoot(newRoot);
+		}
+
+		return newRoot;
+	}
+
 	/**
 	 * Searches for a given element in the tree. It will return the element if the
 	 * tree contains it. Otherwise, it will return a NIL node.
@@ -227,20 +409,21 @@ public class SortedBinaryTree<T extends Comparable<T>> implements BinarySearchTr
 	 */
 	@Override
 	public BinaryTreeNode<T> search(T element) {
-		return this.search(element, this.getRoot());
-	}
-
-	// RECURSIVE AUXILIAR METHOD TO: search(T element).
-	private BinaryTreeNode<T> search(T element, BinaryTreeNode<T> currentNode) {
 		BinaryTreeNode<T> target = new BinaryTreeNode<T>();
 
-		if ((this.isValidInput(element)) && (!currentNode.isEmpty())) {
-			if (element.compareTo(currentNode.getData()) < 0) {
-				target = this.search(element, currentNode.getLeft());
-			} else if (element.compareTo(currentNode.getData()) > 0) {
-				target = this.search(element, currentNode.getRight());
-			} else {
-				target = currentNode;
+		if (this.isValidInput(element)) {
+			BinaryTreeNode<T> currentNode = this.getRoot();
+
+			while (!currentNode.isEmpty() && target.isEmpty()) {
+				int comparison = element.compareTo(currentNode.getData());
+
+				if (comparison < 0) {
+					currentNode = currentNode.getLeft();
+				} else if (comparison > 0) {
+					currentNode = currentNode.getRight();
+				} else {
+					target = currentNode;
+				}
 			}
 		}
 
@@ -254,25 +437,9 @@ public class SortedBinaryTree<T extends Comparable<T>> implements BinarySearchTr
 	 * @return a ordered array containing the binary tree elements.
 	 * 
 	 */
-	@SuppressWarnings("unchecked")
 	@Override
 	public T[] order() {
-		int index = 0;
-		T[] ordered = (T[]) new Comparable[this.size()];
-		this.order(ordered, this.getRoot(), index);
-
-		return ordered;
-	}
-
-	// RECURSIVE AUXILIAR METHOD TO: order().
-	private int order(T[] array, BinaryTreeNode<T> currentNode, int index) {
-		if (!currentNode.isEmpty()) {
-			index = this.order(array, currentNode.getLeft(), index);
-			array[index++] = currentNode.getData();
-			index = this.order(array, currentNode.getRight(), index);
-		}
-
-		return index;
+		return this.toArray(this.iterator());
 	}
 
 	/**
@@ -282,53 +449,91 @@ public class SortedBinaryTree<T extends Comparable<T>> implements BinarySearchTr
 	 * @return a pre-ordered array containing the binary tree elements.
 	 * 
 	 */
-	@SuppressWarnings("unchecked")
 	@Override
 	public T[] preOrder() {
-		int index = 0;
-		T[] preOrdered = (T[]) new Comparable[this.size()];
-		this.preOrder(preOrdered, this.getRoot(), index);
+		return this.toArray(this.preOrderIterator());
+	}
 
-		return preOrdered;
+	/**
+	 * Creates an array containing the binary tree elements. This array is filled
+	 * according to the binary tree post-order.
+	 * 
+	 * @return a post-ordered array containing the binary tree elements.
+	 * 
+	 */
+	@Override
+	public T[] postOrder() {
+		return this.toArray(this.postOrderIterator());
 	}
 
-	// RECURSIVE AUXILIAR METHOD TO: preOrder().
-	private int preOrder(T[] array, BinaryTreeNode<T> currentNode, int index) {
-		if (!currentNode.isEmpty()) {
-			array[index++] = currentNode.getData();
-			index = this.preOrder(array, currentNode.getLeft(), index);
-			index = this.preOrder(array, currentNode.getRight(), index);
+	// AUXILIAR METHOD TO: order(), preOrder() and postOrder().
+	@SuppressWarnings("unchecked")
+	private T[] toArray(Iterator<T> iterator) {
+		T[] array = (T[]) new Comparable[this.size()];
+
+		for (int i = 0; i < array.length; i++) {
+			array[i] = iterator.next();
 		}
 
-		return index;
+		return array;
 	}
 
 	/**
-	 * Creates an array containing the binary tree elements. This array is filled
-	 * according to the binary tree post-order.
+	 * Returns a lazy iterator over the binary tree elements, following the binary
+	 * tree order. Each step moves to the successor of the current node through the
+	 * parent pointers, so no stack is needed (even for degenerate trees) and the
+	 * iteration can be stopped at any time. The tree must not be modified while
+	 * the iterator is being used.
 	 * 
-	 * @return a post-ordered array containing the binary tree elements.
+	 * @return an iterator over the elements in order.
 	 * 
 	 */
-	@SuppressWarnings("unchecked")
 	@Override
-	public T[] postOrder() {
-		int index = 0;
-		T[] postOrdered = (T[]) new Comparable[this.size()];
-		this.postOrder(postOrdered, this.getRoot(), index);
+	public Iterator<T> iterator() {
+		return this.range(null, null);
+	}
 
-		return postOrdered;
+	/**
+	 * Returns a lazy iterator over the binary tree elements, following the binary
+	 * tree pre-order. It uses the parent pointers to climb back from the leaves,
+	 * so it needs O(1) extra space. The tree must not be modified while the
+	 * iterator is being used.
+	 * 
+	 * @return an iterator over the elements in pre-order.
+	 * 
+	 */
+	@Override
+	public Iterator<T> preOrderIterator() {
+		return new PreOrderIterator();
 	}
 
-	// RECURSIVE AUXILIAR METHOD TO: postOrder().
-	private int postOrder(T[] array, BinaryTreeNode<T> currentNode, int index) {
-		if (!currentNode.isEmpty()) {
-			index = this.postOrder(array, currentNode.getLeft(), index);
-			index = this.postOrder(array, currentNode.getRight(), index);
-			array[index++] = currentNode.getData();
-		}
+	/**
+	 * Returns a lazy iterator over the binary tree elements, following the binary
+	 * tree post-order. It uses the parent pointers to climb back from the leaves,
+	 * so it needs O(1) extra space. The tree must not be modified while the
+	 * iterator is being used.
+	 * 
+	 * @return an iterator over the elements in post-order.
+	 * 
+	 */
+	@Override
+	public Iterator<T> postOrderIterator() {
+		return new PostOrderIterator();
+	}
 
-		return index;
+	/**
+	 * Returns a spliterator over the binary tree elements, following the binary
+	 * tree order. It knows its exact size and can be split at the middle position
+	 * of its range (found by select), so it can be used by parallel streams, as
+	 * in StreamSupport.stream(tree.spliterator(), true). The tree must not be
+	 * modified while the spliterator is being used.
+	 * 
+	 * @return a spliterator over the elements in order.
+	 * 
+	 */
+	@Override
+	public Spliterator<T> spliterator() {
+		return new InOrderSpliterator(0, this.size());
 	}
 
 	/**
@@ -349,15 +554,13 @@ public class SortedBinaryTree<T extends Comparable<T>> implements BinarySearchTr
 		return minimum;
 	}
 
-	// RECURSIVE AUXILIAR METHOD TO: minimum().
+	// ITERATIVE AUXILIAR METHOD TO: minimum().
 	protected BinaryTreeNode<T> minimum(BinaryTreeNode<T> currentNode) {
-		BinaryTreeNode<T> minimum = currentNode;
-
-		if (!currentNode.getLeft().isEmpty()) {
-			minimum = this.minimum(currentNode.getLeft());
+		while (!currentNode.getLeft().isEmpty()) {
+			currentNode = currentNode.getLeft();
 		}
 
-		return minimum;
+		return currentNode;
 	}
 
 	/**
@@ -378,15 +581,183 @@ public class SortedBinaryTree<T extends Comparable<T>> implements BinarySearchTr
 		return maximum;
 	}
 
-	// RECURSIVE AUXILIAR METHOD TO: maximum().
-	protected BinaryTreeNode<T> maximum(BinaryTreeNode<T> node) {
-		BinaryTreeNode<T> maximum = node;
+	// ITERATIVE AUXILIAR METHOD TO: maximum().
+	protected BinaryTreeNode<T> maximum(BinaryTreeNode<T> currentNode) {
+		while (!currentNode.getRight().isEmpty()) {
+			currentNode = currentNode.getRight();
+		}
+
+		return currentNode;
+	}
 
-		if (!node.getRight().isEmpty()) {
-			maximum = this.maximum(node.getRight());
+	/**
+	 * Returns the node containing the k-th smallest element of the binary search
+	 * tree, counting from 0 (so select(0) is the minimum and select(size() - 1) is
+	 * the maximum). If k is negative or not smaller than the size of the tree, it
+	 * returns null. The cached subtree sizes guide the descent, so it takes time
+	 * proportional to the height of the tree.
+	 * 
+	 * @param k the position (in the tree order) of the wanted element.
+	 * 
+	 * @return the node containing the k-th smallest element.
+	 * 
+	 */
+	@Override
+	public BinaryTreeNode<T> select(int k) {
+		BinaryTreeNode<T> selected = null;
+
+		if ((k >= 0) && (k < this.size())) {
+			BinaryTreeNode<T> currentNode = this.getRoot();
+
+			while (selected == null) {
+				int leftSize = currentNode.getLeft().getSize();
+
+				if (k < leftSize) {
+					currentNode = currentNode.getLeft();
+				} else if (k > leftSize) {
+					k = k - leftSize - 1;
+					currentNode = currentNode.getRight();
+				} else {
+					selected = currentNode;
+				}
+			}
 		}
 
-		return maximum;
+		return selected;
+	}
+
+	/**
+	 * Returns the number of elements in the binary search tree that are smaller
+	 * than the given element. The element does not need to be in the tree. If the
+	 * element is null, this method returns -1. The cached subtree sizes are summed
+	 * along a single descent, so it takes time proportional to the height of the
+	 * tree.
+	 * 
+	 * @param element the element whose rank is being calculated.
+	 * 
+	 * @return the number of elements smaller than the given element.
+	 * 
+	 */
+	@Override
+	public int rank(T element) {
+		int rank = -1;
+
+		if (this.isValidInput(element)) {
+			rank = this.countSmaller(element, false);
+		}
+
+		return rank;
+	}
+
+	/**
+	 * Counts the elements of the tree that are smaller than (or, if inclusive is
+	 * true, smaller than or equal to) the given non-null element, summing the
+	 * cached subtree sizes along a single descent.
+	 * 
+	 * @param element   the element being compared.
+	 * @param inclusive the boolean that indicates if equal elements are counted.
+	 * 
+	 * @return the number of elements counted.
+	 * 
+	 */
+	private int countSmaller(T element, boolean inclusive) {
+		BinaryTreeNode<T> currentNode = this.getRoot();
+		int count = 0;
+
+		while (!currentNode.isEmpty()) {
+			int comparison = element.compareTo(currentNode.getData());
+
+			if ((comparison < 0) || ((comparison == 0) && !inclusive)) {
+				currentNode = currentNode.getLeft();
+			} else {
+				count += currentNode.getLeft().getSize() + 1;
+				currentNode = currentNode.getRight();
+			}
+		}
+
+		return count;
+	}
+
+	/**
+	 * Returns a lazy iterator over the elements of the binary search tree that are
+	 * between the given bounds (both inclusive), in ascending order. A null bound
+	 * leaves that side of the range unbounded. The first element is found by a
+	 * single descent and the next ones are reached through the parent pointers,
+	 * so iterating over k elements takes O(height + k) time. The tree must not be
+	 * modified while the iterator is being used.
+	 * 
+	 * @param lo the smallest element of the range (or null).
+	 * @param hi the greatest element of the range (or null).
+	 * 
+	 * @return an iterator over the elements in the range.
+	 * 
+	 */
+	@Override
+	public Iterator<T> range(T lo, T hi) {
+		BinaryTreeNode<T> first = null;
+
+		if (!this.isEmpty()) {
+			if (lo == null) {
+				first = this.minimum(this.getRoot());
+			} else {
+				first = this.ceiling(lo);
+			}
+		}
+
+		return new InOrderIterator(first, hi);
+	}
+
+	/**
+	 * Returns the number of elements of the binary search tree that are between
+	 * the given bounds (both inclusive). A null bound leaves that side of the range
+	 * unbounded. It is calculated from two descents that sum the cached subtree
+	 * sizes, so it takes time proportional to the height of the tree.
+	 * 
+	 * @param lo the smallest element of the range (or null).
+	 * @param hi the greatest element of the range (or null).
+	 * 
+	 * @return the number of elements in the range.
+	 * 
+	 */
+	@Override
+	public int countRange(T lo, T hi) {
+		int upper = this.size();
+		int lower = 0;
+
+		if (hi != null) {
+			upper = this.countSmaller(hi, true);
+		}
+
+		if (lo != null) {
+			lower = this.countSmaller(lo, false);
+		}
+
+		return Math.max(0, upper - lower);
+	}
+
+	/**
+	 * Returns the node containing the smallest element that is greater than or
+	 * equal to the given non-null element, or null if there is none.
+	 * 
+	 * @param element the element being compared.
+	 * 
+	 * @return the node of the smallest element not smaller than the given one.
+	 * 
+	 */
+	protected BinaryTreeNode<T> ceiling(T element) {
+		BinaryTreeNode<T> currentNode = this.getRoot();
+		BinaryTreeNode<T> ceiling = null;
+
+		while (!currentNode.isEmpty()) {
+			if (element.compareTo(currentNode.getData()) <= 0) {
+				ceiling = currentNode;
+				currentNode = currentNode.getLeft();
+			} else {
+				currentNode = currentNode.getRight();
+			}
+		}
+
+		return ceiling;
 	}
 
 	/**
@@ -404,19 +775,43 @@ public class SortedBinaryTree<T extends Comparable<T>> implements BinarySearchTr
 		BinaryTreeNode<T> targetNode = this.search(element);
 		BinaryTreeNode<T> predecessorNode = new BinaryTreeNode<T>();
 
-		if (this.isValidInput(element) && (!targetNode.isEmpty())) {
-			if (!targetNode.getLeft().isEmpty()) {
-				predecessorNode = this.maximum(targetNode.getLeft());
+		if (!targetNode.isEmpty()) {
+			BinaryTreeNode<T> node = this.predecessor(targetNode);
+
+			if (node != null) {
+				predecessorNode = node;
 			}
+		}
 
-			else {
-				BinaryTreeNode<T> ancestralNode = targetNode.getParent();
-				while ((ancestralNode.getData().compareTo(targetNode.getData()) > 0) && (ancestralNode != null)) {
-					ancestralNode = ancestralNode.getParent();
-				}
+		return predecessorNode;
+	}
+
+	/**
+	 * Returns the node that comes immediately before the given non-NIL node in the
+	 * tree order, or null if it is the first one. The parent pointers are used to
+	 * climb the tree when the node has no left subtree.
+	 * 
+	 * @param node the node whose predecessor is being looked for.
+	 * 
+	 * @return the predecessor node (or null, if there is none).
+	 * 
+	 */
+	protected BinaryTreeNode<T> predecessor(BinaryTreeNode<T> node) {
+		BinaryTreeNode<T> predecessorNode = null;
 
-				predecessorNode = ancestralNode;
+		if (!node.getLeft().isEmpty()) {
+			predecessorNode = this.maximum(node.getLeft());
+		}
+
+		else {
+			BinaryTreeNode<T> parent = node.getParent();
+
+			while ((parent != null) && (parent.getLeft() == node)) {
+				node = parent;
+				parent = parent.getParent();
 			}
+
+			predecessorNode = parent;
 		}
 
 		return predecessorNode;
@@ -434,25 +829,270 @@ public class SortedBinaryTree<T extends Comparable<T>> implements BinarySearchTr
 	 */
 	@Override
 	public BinaryTreeNode<T> successor(T element) {
-		BinaryTreeNode<T> targetNode = this.search(element, this.getRoot());
+		BinaryTreeNode<T> targetNode = this.search(element);
 		BinaryTreeNode<T> successorNode = new BinaryTreeNode<T>();
 
-		if (this.isValidInput(element) && (!targetNode.isEmpty())) {
-			if (!targetNode.getRight().isEmpty()) {
-				successorNode = this.minimum(targetNode.getRight());
+		if (!targetNode.isEmpty()) {
+			BinaryTreeNode<T> node = this.successor(targetNode);
+
+			if (node != null) {
+				successorNode = node;
+			}
+		}
+
+		return successorNode;
+	}
+
+	/**
+	 * Returns the node that comes immediately after the given non-NIL node in the
+	 * tree order, or null if it is the last one. The parent pointers are used to
+	 * climb the tree when the node has no right subtree.
+	 * 
+	 * @param node the node whose successor is being looked for.
+	 * 
+	 * @return the successor node (or null, if there is none).
+	 * 
+	 */
+	protected BinaryTreeNode<T> successor(BinaryTreeNode<T> node) {
+		BinaryTreeNode<T> successorNode = null;
+
+		if (!node.getRight().isEmpty()) {
+			successorNode = this.minimum(node.getRight());
+		}
+
+		else {
+			BinaryTreeNode<T> parent = node.getParent();
+
+			while ((parent != null) && (parent.getRight() == node)) {
+				node = parent;
+				parent = parent.getParent();
+			}
+
+			successorNode = parent;
+		}
+
+		return successorNode;
+	}
+
+	/**
+	 * An iterator that walks the tree in order, from a given node up to a given
+	 * upper bound (or to the end of the tree, if the bound is null), moving from a
+	 * node to its successor through the parent pointers.
+	 * 
+	 */
+	private class InOrderIterator implements Iterator<T> {
+
+		private BinaryTreeNode<T> next;
+		private T hi;
+
+		public InOrderIterator(BinaryTreeNode<T> first, T hi) {
+			this.hi = hi;
+			this.next = this.bounded(first);
+		}
+
+		private BinaryTreeNode<T> bounded(BinaryTreeNode<T> node) {
+			BinaryTreeNode<T> bounded = node;
+
+			if ((node != null) && (this.hi != null) && (node.getData().compareTo(this.hi) > 0)) {
+				bounded = null;
+			}
+
+			return bounded;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return (this.next != null);
+		}
+
+		@Override
+		public T next() {
+			if (!this.hasNext()) {
+				throw new NoSuchElementException("There are no more elements in the range.");
+			}
+
+			T element = this.next.getData();
+			this.next = this.bounded(successor(this.next));
+
+			return element;
+		}
+
+	}
+
+	/**
+	 * An iterator that walks the tree in pre-order. After visiting a node, it goes
+	 * to its first non-NIL child or, if the node is a leaf, climbs until it finds
+	 * an ancestor whose right subtree was not visited yet.
+	 * 
+	 */
+	private class PreOrderIterator implements Iterator<T> {
+
+		private BinaryTreeNode<T> next;
+
+		public PreOrderIterator() {
+			if (!isEmpty()) {
+				this.next = getRoot();
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return (this.next != null);
+		}
+
+		@Override
+		public T next() {
+			if (!this.hasNext()) {
+				throw new NoSuchElementException("There are no more elements in the tree.");
+			}
+
+			BinaryTreeNode<T> node = this.next;
+			T element = node.getData();
+
+			if (!node.getLeft().isEmpty()) {
+				this.next = node.getLeft();
+			} else if (!node.getRight().isEmpty()) {
+				this.next = node.getRight();
 			}
 
 			else {
-				BinaryTreeNode<T> ancestralNode = targetNode.getParent();
-				while ((ancestralNode.getData().compareTo(targetNode.getData()) < 0) && (ancestralNode != null)) {
-					ancestralNode = ancestralNode.getParent();
+				BinaryTreeNode<T> parent = node.getParent();
+
+				while ((parent != null) && ((parent.getRight() == node) || parent.getRight().isEmpty())) {
+					node = parent;
+					parent = parent.getParent();
 				}
 
-				successorNode = ancestralNode;
+				this.next = (parent == null) ? null : parent.getRight();
 			}
+
+			return element;
+		}
+
+	}
+
+	/**
+	 * An iterator that walks the tree in post-order. The first node is the first
+	 * leaf reached by always preferring the left child. After visiting a left
+	 * child, it goes to the first leaf of its sibling subtree, otherwise it goes
+	 * to the parent.
+	 * 
+	 */
+	private class PostOrderIterator implements Iterator<T> {
+
+		private BinaryTreeNode<T> next;
+
+		public PostOrderIterator() {
+			if (!isEmpty()) {
+				this.next = this.firstLeaf(getRoot());
+			}
+		}
+
+		private BinaryTreeNode<T> firstLeaf(BinaryTreeNode<T> node) {
+			while (!node.isLeaf()) {
+				if (!node.getLeft().isEmpty()) {
+					node = node.getLeft();
+				} else {
+					node = node.getRight();
+				}
+			}
+
+			return node;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return (this.next != null);
+		}
+
+		@Override
+		public T next() {
+			if (!this.hasNext()) {
+				throw new NoSuchElementException("There are no more elements in the tree.");
+			}
+
+			BinaryTreeNode<T> node = this.next;
+			BinaryTreeNode<T> parent = node.getParent();
+
+			if ((parent != null) && (parent.getLeft() == node) && !parent.getRight().isEmpty()) {
+				this.next = this.firstLeaf(parent.getRight());
+			} else {
+				this.next = parent;
+			}
+
+			return node.getData();
+		}
+
+	}
+
+	/**
+	 * A spliterator that walks the tree in order over the positions [index, end).
+	 * Splitting gives the first half of the positions to a new spliterator and
+	 * moves this one to the middle position, located by select.
+	 * 
+	 */
+	private class InOrderSpliterator implements Spliterator<T> {
+
+		private BinaryTreeNode<T> current;
+		private int index;
+		private int end;
+
+		public InOrderSpliterator(int index, int end) {
+			this.current = select(index);
+			this.index = index;
+			this.end = end;
+		}
+
+		private InOrderSpliterator(BinaryTreeNode<T> current, int index, int end) {
+			this.current = current;
+			this.index = index;
+			this.end = end;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super T> action) {
+			boolean advanced = false;
+
+			if (this.index < this.end) {
+				action.accept(this.current.getData());
+				this.current = successor(this.current);
+				this.index++;
+				advanced = true;
+			}
+
+			return advanced;
+		}
+
+		@Override
+		public Spliterator<T> trySplit() {
+			Spliterator<T> prefix = null;
+			int middle = (this.index + this.end) >>> 1;
+
+			if (middle > this.index) {
+				prefix = new InOrderSpliterator(this.current, this.index, middle);
+				this.current = select(middle);
+				this.index = middle;
+			}
+
+			return prefix;
+		}
+
+		@Override
+		public long estimateSize() {
+			return (this.end - this.index);
+		}
+
+		@Override
+		public int characteristics() {
+			return (Spliterator.ORDERED | Spliterator.SORTED | Spliterator.SIZED | Spliterator.SUBSIZED
+					| Spliterator.NONNULL);
+		}
+
+		@Override
+		public Comparator<? super T> getComparator() {
+			return null;
 		}
 
-		return successorNode;
 	}
 
 }
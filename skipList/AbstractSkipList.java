@@ -0,0 +1,127 @@
+package skipList;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import abstractions.SkipList;
+
+/**
+ * A skip list is a data structure that allows fast search within an ordered
+ * sequence of elements. Fast search is made possible by maintaining a linked
+ * hierarchy and skipping over some elements. This class holds the ordered
+ * navigation shared by the int-keyed skip lists: the nodes nearest to a key,
+ * the first and last keys, and the range scans. It only relies on the sentinel
+ * nodes and on the height of the skip list, so each subclass keeps its own way
+ * of choosing the heights of its nodes. The sentinels are compared by identity.
+ * The skip list contains T-type elements.
+ * 
+ * @author Matheus Alves dos Santos
+ * 
+ */
+public abstract class AbstractSkipList<T> implements SkipList<T> {
+
+	public abstract SkipListNode<T> getHead();
+
+	public abstract SkipListNode<T> getTail();
+
+	@Override
+	public SkipListNode<T> ceiling(int key) {
+		SkipListNode<T> target = this.before(key, false).getForward(0);
+
+		return ((target != this.getTail()) ? target : null);
+	}
+
+	@Override
+	public SkipListNode<T> floor(int key) {
+		SkipListNode<T> target = this.before(key, true);
+
+		return ((target != this.getHead()) ? target : null);
+	}
+
+	@Override
+	public SkipListNode<T> higher(int key) {
+		SkipListNode<T> target = this.before(key, true).getForward(0);
+
+		return ((target != this.getTail()) ? target : null);
+	}
+
+	@Override
+	public SkipListNode<T> lower(int key) {
+		SkipListNode<T> target = this.before(key, false);
+
+		return ((target != this.getHead()) ? target : null);
+	}
+
+	@Override
+	public int firstKey() {
+		SkipListNode<T> first = this.getHead().getForward(0);
+
+		if (first == this.getTail()) {
+			throw new NoSuchElementException("The skip list is empty.");
+		}
+
+		return first.getKey();
+	}
+
+	@Override
+	public int lastKey() {
+		SkipListNode<T> tail = this.getTail();
+		SkipListNode<T> target = this.getHead();
+
+		for (int i = this.height() - 1; i >= 0; i--) {
+			while (target.getForward(i) != tail) {
+				target = target.getForward(i);
+			}
+		}
+
+		if (target == this.getHead()) {
+			throw new NoSuchElementException("The skip list is empty.");
+		}
+
+		return target.getKey();
+	}
+
+	@Override
+	public SkipListNode<T> pollFirst() {
+		SkipListNode<T> target = this.getHead().getForward(0);
+
+		if (target == this.getTail()) {
+			target = null;
+		} else {
+			this.remove(target.getKey());
+		}
+
+		return target;
+	}
+
+	@Override
+	public Iterator<SkipListNode<T>> range(int lo, int hi) {
+		return new SkipListRangeIterator<T>(this.before(lo, false).getForward(0), this.getTail(), hi);
+	}
+
+	/**
+	 * Returns the last node whose key is smaller than the given key (or equal to
+	 * it, if inclusive is true). It will return the head if there is no such node.
+	 * Only the levels below the height of the skip list are visited.
+	 * 
+	 * @param key       the key being searched for.
+	 * @param inclusive true, if a node containing the key itself may be returned.
+	 * 
+	 * @return the last node before the given key.
+	 * 
+	 */
+	protected SkipListNode<T> before(int key, boolean inclusive) {
+		SkipListNode<T> tail = this.getTail();
+		SkipListNode<T> target = this.getHead();
+
+		for (int i = this.height() - 1; i >= 0; i--) {
+			while ((target.getForward(i) != tail) && ((target.getForward(i).getKey() < key)
+					|| (inclusive && (target.getForward(i).getKey() == key)))) {
+				target = target.getForward(i);
+			}
+		}
+
+		return target;
+	}
+
+}
@@ -0,0 +1,466 @@
+package skipList;
+
+import java.util.AbstractMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicMarkableReference;
+
+/**
+ * A concurrent skip list may be used by many threads at the same time without
+ * locks. Each forward link is an AtomicMarkableReference: a node is removed
+ * logically by marking its links, from the top level down to the bottom one,
+ * and physically by the threads that later find the marked links and unlink
+ * them with a compare-and-set. A node is inserted by linking it at the bottom
+ * level with a compare-and-set (which makes it present) and then at the upper
+ * levels. The heights of the nodes are drawn from a geometric distribution, so
+ * the callers do not choose them.
+ * 
+ * The insertions and removals are lock-free, and the searches are wait-free:
+ * they never change the links and just step over the marked nodes. The
+ * iteration over a range is weakly consistent: it reflects the state of the
+ * skip list at some point during the iteration, never fails because of
+ * concurrent changes and never returns an element twice. Since the sentinels
+ * are recognized by identity, every int key may be stored.
+ * 
+ * @author Matheus Alves dos Santos
+ * 
+ */
+public class ConcurrentSkipList<T> {
+
+	private static final int MAX_HEIGHT = 32;
+
+	private final Node<T> head;
+	private final Node<T> tail;
+	private final AtomicInteger levels;
+	private final AtomicInteger size;
+
+	/**
+	 * Constructs an empty ConcurrentSkipList, whose nodes may have up to
+	 * MAX_HEIGHT levels (originally 32).
+	 * 
+	 */
+	public ConcurrentSkipList() {
+		this.tail = new Node<T>(0, null, MAX_HEIGHT, null);
+		this.head = new Node<T>(0, null, MAX_HEIGHT, this.tail);
+		this.levels = new AtomicInteger(1);
+		this.size = new AtomicInteger(0);
+	}
+
+	/**
+	 * Returns the number of elements contained in the skip list. While other
+	 * threads are changing it, the result is only an estimate.
+	 * 
+	 * @return the size of the skip list.
+	 * 
+	 */
+	public int size() {
+		return this.size.get();
+	}
+
+	/**
+	 * Returns true, if the skip list is empty, or false, otherwise.
+	 * 
+	 * @return the boolean that indicates if the skip list is empty.
+	 * 
+	 */
+	public boolean isEmpty() {
+		return (this.ceilingNode(Integer.MIN_VALUE) == this.tail);
+	}
+
+	/**
+	 * Returns the number of levels that have been used by the nodes of the skip
+	 * list. The searches start at the highest of them.
+	 * 
+	 * @return the number of levels in use.
+	 * 
+	 */
+	public int height() {
+		return this.levels.get();
+	}
+
+	/**
+	 * Inserts a new element at the skip list, in a node of random height. If the
+	 * skip list already contains a node with the same key, only updates the node
+	 * value. Null values are not allowed. If the given value is null, the skip
+	 * list will remain unchanged.
+	 * 
+	 * @param key   The key for access of the value to be inserted.
+	 * @param value The value to be inserted.
+	 * 
+	 * @return the boolean that indicates if a new node was created.
+	 * 
+	 */
+	@SuppressWarnings("unchecked")
+	public boolean insert(int key, T value) {
+		boolean inserted = false;
+
+		if (value != null) {
+			Node<T>[] predecessors = new Node[MAX_HEIGHT];
+			Node<T>[] successors = new Node[MAX_HEIGHT];
+			int height = randomHeight();
+			boolean done = false;
+
+			this.levels.accumulateAndGet(height, Math::max);
+
+			while (!done) {
+				if (this.find(key, predecessors, successors)) {
+					successors[0].value = value;
+					done = true;
+				}
+
+				else {
+					Node<T> node = new Node<T>(key, value, height, null);
+
+					for (int level = 0; level < height; level++) {
+						node.forward[level].set(successors[level], false);
+					}
+
+					if (predecessors[0].forward[0].compareAndSet(successors[0], node, false, false)) {
+						this.size.incrementAndGet();
+						this.linkUpperLevels(node, predecessors, successors);
+						inserted = true;
+						done = true;
+					}
+				}
+			}
+		}
+
+		return inserted;
+	}
+
+	/**
+	 * Removes the node containing the given key from the skip list. If the given
+	 * key is not present in any of the skip list nodes, it remains unchanged.
+	 * 
+	 * @param key The key of the node to be removed.
+	 * 
+	 * @return the boolean that indicates if this call removed the node (false if
+	 *         the key was not present or another thread removed it first).
+	 * 
+	 */
+	@SuppressWarnings("unchecked")
+	public boolean remove(int key) {
+		boolean removed = false;
+		Node<T>[] predecessors = new Node[MAX_HEIGHT];
+		Node<T>[] successors = new Node[MAX_HEIGHT];
+
+		if (this.find(key, predecessors, successors)) {
+			Node<T> node = successors[0];
+			boolean[] marked = new boolean[1];
+
+			for (int level = node.height() - 1; level > 0; level--) {
+				Node<T> successor = node.forward[level].get(marked);
+
+				while (!marked[0]) {
+					node.forward[level].compareAndSet(successor, successor, false, true);
+					successor = node.forward[level].get(marked);
+				}
+			}
+
+			boolean finished = false;
+
+			while (!finished) {
+				Node<T> successor = node.forward[0].get(marked);
+
+				if (marked[0]) {
+					finished = true;
+				} else if (node.forward[0].compareAndSet(successor, successor, false, true)) {
+					this.size.decrementAndGet();
+					this.find(key, predecessors, successors);
+					removed = true;
+					finished = true;
+				}
+			}
+		}
+
+		return removed;
+	}
+
+	/**
+	 * Searches for the value associated to the given key. It will return null if
+	 * the skip list does not contain the key.
+	 * 
+	 * @param key the key being searched for.
+	 * 
+	 * @return the value associated to the key (or null).
+	 * 
+	 */
+	public T search(int key) {
+		Node<T> node = this.ceilingNode(key);
+		return (((node != this.tail) && (node.key == key)) ? node.value : null);
+	}
+
+	/**
+	 * Returns the entry with the smallest key that is greater than or equal to the
+	 * given key, or null if there is none.
+	 * 
+	 * @param key the key being searched for.
+	 * 
+	 * @return the entry with the least key greater than or equal to the key.
+	 * 
+	 */
+	public Map.Entry<Integer, T> ceiling(int key) {
+		return this.entry(this.ceilingNode(key));
+	}
+
+	/**
+	 * Returns the entry with the greatest key that is smaller than or equal to the
+	 * given key, or null if there is none.
+	 * 
+	 * @param key the key being searched for.
+	 * 
+	 * @return the entry with the greatest key smaller than or equal to the key.
+	 * 
+	 */
+	public Map.Entry<Integer, T> floor(int key) {
+		Map.Entry<Integer, T> floor = null;
+		boolean retry = true;
+
+		while (retry) {
+			Node<T> node = this.floorNode(key);
+			retry = (node != this.head) && node.forward[0].isMarked();
+
+			if (!retry) {
+				floor = this.entry(node);
+			}
+		}
+
+		return floor;
+	}
+
+	/**
+	 * Returns a weakly consistent iterator over the entries whose keys are between
+	 * lo and hi (both inclusive), in ascending order of keys.
+	 * 
+	 * @param lo the smallest key of the range.
+	 * @param hi the greatest key of the range.
+	 * 
+	 * @return an iterator over the entries of the range.
+	 * 
+	 */
+	public Iterator<Map.Entry<Integer, T>> range(int lo, int hi) {
+		return new Iterator<Map.Entry<Integer, T>>() {
+
+			private Node<T> node = ceilingNode(lo);
+			private Map.Entry<Integer, T> next = this.advance();
+
+			@Override
+			public boolean hasNext() {
+				return (this.next != null);
+			}
+
+			@Override
+			public Map.Entry<Integer, T> next() {
+				if (!this.hasNext()) {
+					throw new NoSuchElementException("There are no more elements in the range.");
+				}
+
+				Map.Entry<Integer, T> entry = this.next;
+				this.node = this.node.forward[0].getReference();
+				this.next = this.advance();
+
+				return entry;
+			}
+
+			// Skips the removed nodes and reads the entry of the current one.
+			private Map.Entry<Integer, T> advance() {
+				Map.Entry<Integer, T> entry = null;
+
+				while ((this.node != tail) && this.node.forward[0].isMarked()) {
+					this.node = this.node.forward[0].getReference();
+				}
+
+				if ((this.node != tail) && (this.node.key <= hi)) {
+					entry = entry(this.node);
+				}
+
+				return entry;
+			}
+
+		};
+	}
+
+	// THE METHODS BELOW TRAVERSE AND LINK THE NODES.
+
+	/**
+	 * Draws the height of a new node from a geometric distribution of parameter
+	 * 1/2: each extra level is kept with probability 1/2.
+	 * 
+	 */
+	private static int randomHeight() {
+		int bits = ThreadLocalRandom.current().nextInt();
+		return Math.min(Integer.numberOfTrailingZeros(bits) + 1, MAX_HEIGHT);
+	}
+
+	private boolean precedes(Node<T> node, int key) {
+		return ((node != this.tail) && (node.key < key));
+	}
+
+	/**
+	 * Fills, for every level in use, the last node whose key is smaller than the
+	 * given key and the node after it, unlinking the marked nodes found on the way.
+	 * Returns true if the node after the predecessor at the bottom level has the
+	 * given key.
+	 * 
+	 */
+	private boolean find(int key, Node<T>[] predecessors, Node<T>[] successors) {
+		boolean[] marked = new boolean[1];
+		boolean found = false;
+		boolean restart = true;
+
+		while (restart) {
+			Node<T> predecessor = this.head;
+			restart = false;
+
+			for (int level = this.levels.get() - 1; (level >= 0) && !restart; level--) {
+				Node<T> current = predecessor.forward[level].getReference();
+
+				while (!restart) {
+					Node<T> successor = current.forward[level].get(marked);
+
+					while (marked[0] && !restart) {
+						restart = !predecessor.forward[level].compareAndSet(current, successor, false, false);
+						current = successor;
+						successor = current.forward[level].get(marked);
+					}
+
+					if (!restart && this.precedes(current, key)) {
+						predecessor = current;
+						current = successor;
+					} else {
+						break;
+					}
+				}
+
+				predecessors[level] = predecessor;
+				successors[level] = current;
+			}
+
+			found = !restart && (successors[0] != this.tail) && (successors[0].key == key);
+		}
+
+		return found;
+	}
+
+	/**
+	 * Links the given node, already present at the bottom level, at its upper
+	 * levels. The linking stops if the node is removed meanwhile.
+	 * 
+	 */
+	private void linkUpperLevels(Node<T> node, Node<T>[] predecessors, Node<T>[] successors) {
+		boolean[] marked = new boolean[1];
+
+		for (int level = 1; level < node.height(); level++) {
+			boolean linked = false;
+
+			while (!linked) {
+				Node<T> predecessor = predecessors[level];
+				Node<T> successor = successors[level];
+				Node<T> current = node.forward[level].get(marked);
+
+				if (marked[0]) {
+					return;
+				}
+
+				if ((current == successor) || node.forward[level].compareAndSet(current, successor, false, false)) {
+					linked = predecessor.forward[level].compareAndSet(successor, node, false, false);
+				}
+
+				if (!linked) {
+					this.find(node.key, predecessors, successors);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the first unmarked node whose key is greater than or equal to the
+	 * given key (or the tail), without changing any link.
+	 * 
+	 */
+	private Node<T> ceilingNode(int key) {
+		Node<T> predecessor = this.head;
+		Node<T> current = null;
+
+		for (int level = this.levels.get() - 1; level >= 0; level--) {
+			current = this.skipMarked(predecessor.forward[level].getReference(), level);
+
+			while (this.precedes(current, key)) {
+				predecessor = current;
+				current = this.skipMarked(current.forward[level].getReference(), level);
+			}
+		}
+
+		return current;
+	}
+
+	/**
+	 * Returns the last node whose key is smaller than or equal to the given key
+	 * (or the head), without changing any link.
+	 * 
+	 */
+	private Node<T> floorNode(int key) {
+		Node<T> predecessor = this.head;
+
+		for (int level = this.levels.get() - 1; level >= 0; level--) {
+			Node<T> current = this.skipMarked(predecessor.forward[level].getReference(), level);
+
+			while ((current != this.tail) && (current.key <= key)) {
+				predecessor = current;
+				current = this.skipMarked(current.forward[level].getReference(), level);
+			}
+		}
+
+		return predecessor;
+	}
+
+	private Node<T> skipMarked(Node<T> node, int level) {
+		while ((node != this.tail) && node.forward[level].isMarked()) {
+			node = node.forward[level].getReference();
+		}
+
+		return node;
+	}
+
+	private Map.Entry<Integer, T> entry(Node<T> node) {
+		Map.Entry<Integer, T> entry = null;
+
+		if ((node != this.head) && (node != this.tail)) {
+			entry = new AbstractMap.SimpleImmutableEntry<Integer, T>(node.key, node.value);
+		}
+
+		return entry;
+	}
+
+	/**
+	 * A node of the concurrent skip list. Its key is final, its value may be
+	 * replaced and each of its forward links carries the mark of a removal.
+	 * 
+	 */
+	private static class Node<T> {
+
+		private final int key;
+		private volatile T value;
+		private final AtomicMarkableReference<Node<T>>[] forward;
+
+		@SuppressWarnings("unchecked")
+		public Node(int key, T value, int height, Node<T> next) {
+			this.key = key;
+			this.value = value;
+			this.forward = new AtomicMarkableReference[height];
+
+			for (int level = 0; level < height; level++) {
+				this.forward[level] = new AtomicMarkableReference<Node<T>>(next, false);
+			}
+		}
+
+		public int height() {
+			return this.forward.length;
+		}
+
+	}
+
+}
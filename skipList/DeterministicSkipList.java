@@ -1,6 +1,6 @@
 package skipList;
 
-import abstractions.SkipList;
+import java.util.Arrays;
 
 /**
  * A skip list is a data structure that allows fast search within an ordered
@@ -11,12 +11,17 @@ import abstractions.SkipList;
  * @author Matheus Alves dos Santos
  * 
  */
-public class DeterministicSkipList<T> implements SkipList<T> {
+public class DeterministicSkipList<T> extends AbstractSkipList<T> {
 
 	private SkipListNode<T> head;
 	private SkipListNode<T> tail;
 	private int maxHeight;
 
+	private int size;
+	private int height;
+	private int[] population;
+	private SkipListNode<T>[] update;
+
 	/**
 	 * Constructs a new DeterministicSkipList which maximum height will be the one
 	 * given as parameter. The sentinel nodes will be already connected after the
@@ -30,6 +35,8 @@ public class DeterministicSkipList<T> implements SkipList<T> {
 		this.head = new SkipListNode(Integer.MIN_VALUE, null, maxHeight);
 		this.tail = new SkipListNode(Integer.MAX_VALUE, null, maxHeight);
 		this.maxHeight = maxHeight;
+		this.population = new int[maxHeight];
+		this.update = new SkipListNode[maxHeight];
 		connectHeadToTail();
 	}
 
@@ -69,78 +76,141 @@ public class DeterministicSkipList<T> implements SkipList<T> {
 
 	/**
 	 * Returns the number of elements contained in the skip list. The sentinel nodes
-	 * are not considered.
+	 * are not considered. The size is kept in a counter updated by the insertions
+	 * and removals, so this method takes O(1) time.
 	 * 
 	 * @return the size of the skip list.
 	 * 
 	 */
 	@Override
 	public int size() {
-		SkipListNode<T> currentNode = this.getHead().getForward(0);
-		int counter = 0;
-
-		while (!currentNode.equals(this.getTail())) {
-			currentNode = currentNode.getForward(0);
-			counter++;
-		}
-
-		return counter;
+		return this.size;
 	}
 
 	/**
 	 * Returns the height of the highest node of the skip list (the sentinel nodes
-	 * are not considered). Returns zero if the skip list is empty.
+	 * are not considered). Returns zero if the skip list is empty. The skip list
+	 * keeps the number of nodes present at each level, so the height is updated
+	 * by the insertions and removals and this method takes O(1) time.
 	 * 
 	 * @return the height of the highest node of the skip list.
 	 * 
 	 */
 	@Override
 	public int height() {
-		int highest = 0;
-
-		if (this.size() > 0) {
-			SkipListNode<T> currentNode = this.getHead().getForward(0);
-
-			while (!currentNode.equals(this.getTail())) {
-				if (currentNode.height() > highest) {
-					highest = currentNode.height();
-				}
-
-				currentNode = currentNode.getForward(0);
-			}
-		}
+		return this.height;
+	}
 
-		return highest;
+	/**
+	 * Returns the number of nodes (the sentinel nodes are not considered) that are
+	 * linked at the given level, that is, whose height is greater than the level.
+	 * 
+	 * @param level the level whose population is being requested.
+	 * 
+	 * @return the number of nodes at the given level.
+	 * 
+	 */
+	public int population(int level) {
+		return this.population[level];
 	}
 
 	/**
 	 * Inserts a new element (using the given height) at the skip list. If the skip
 	 * list already contains a node with the same key, only updates the node value.
+	 * Null values are ignored. Apart from the new node, nothing is allocated: the
+	 * predecessors of the key are kept in an update buffer reused by every
+	 * insertion and removal (so the skip list must not be changed by several
+	 * threads at the same time).
 	 * 
 	 * @param key    The key for access of the value to be inserted.
 	 * @param value  The value to be inserted.
 	 * @param height The height of the new node that will be created.
 	 * 
 	 */
-	@SuppressWarnings("unchecked")
 	@Override
 	public void insert(int key, T value, int height) {
 		if (height <= this.getMaxHeight()) {
-			SkipListNode<T>[] update = new SkipListNode[this.getMaxHeight()];
-			SkipListNode<T> target = this.searchPlace(update, key);
+			SkipListNode<T> target = this.searchPlace(key);
 
 			target = target.getForward(0);
 
-			if (target.getKey() == key) {
-				target.setValue(value);
+			if ((target != this.tail) && (target.getKey() == key)) {
+				if (value != null) {
+					target.setValue(value);
+				}
 			}
 
-			if ((height >= 1) && (value != null)) {
+			else if ((height >= 1) && (value != null)) {
+				for (int i = this.height; i < height; i++) {
+					this.update[i] = this.head;
+				}
+
 				target = new SkipListNode<T>(key, value, height);
 				for (int i = 0; i < height; i++) {
-					target.setForward(i, update[i].getForward(i));
-					update[i].setForward(i, target);
+					target.setForward(i, this.update[i].getForward(i));
+					this.update[i].setForward(i, target);
+					this.population[i]++;
 				}
+
+				this.height = Math.max(this.height, height);
+				this.size++;
+			}
+		}
+	}
+
+	/**
+	 * Replaces the contents of the skip list by the keys of the given array, which
+	 * must be in strictly ascending order, associated to the values at the same
+	 * positions of the other array, in O(n) time. The heights are spaced as powers
+	 * of two: the node at position p (counted from one) has height one plus the
+	 * number of trailing zeros of p, limited to the maximum height. So every
+	 * second node reaches the second level, every fourth node reaches the third
+	 * level, and so on, and all levels are linked in a single pass without any
+	 * search. Keys associated to null values are ignored. If any of the given
+	 * arrays is null, the skip list will remain unchanged.
+	 * 
+	 * @param keys   the array containing the keys in ascending order.
+	 * @param values the array containing the values of the keys.
+	 * 
+	 * @throws IllegalArgumentException if the arrays have different lengths or the
+	 *                                  keys are not in strictly ascending order.
+	 * 
+	 */
+	public void buildFromSorted(int[] keys, T[] values) {
+		if ((keys != null) && (values != null)) {
+			if (keys.length != values.length) {
+				throw new IllegalArgumentException("The arrays of keys and values must have the same length.");
+			}
+
+			for (int i = 1; i < keys.length; i++) {
+				if (keys[i - 1] >= keys[i]) {
+					throw new IllegalArgumentException("The keys must be in strictly ascending order.");
+				}
+			}
+
+			this.size = 0;
+			this.height = 0;
+			Arrays.fill(this.population, 0);
+			Arrays.fill(this.update, this.head);
+
+			for (int i = 0; i < keys.length; i++) {
+				if (values[i] != null) {
+					int height = Math.min(Integer.numberOfTrailingZeros(this.size + 1) + 1, this.maxHeight);
+					SkipListNode<T> node = new SkipListNode<T>(keys[i], values[i], height);
+
+					for (int level = 0; level < height; level++) {
+						this.update[level].setForward(level, node);
+						this.update[level] = node;
+						this.population[level]++;
+					}
+
+					this.height = Math.max(this.height, height);
+					this.size++;
+				}
+			}
+
+			for (int level = 0; level < this.maxHeight; level++) {
+				this.update[level].setForward(level, this.tail);
 			}
 		}
 	}
@@ -152,32 +222,43 @@ public class DeterministicSkipList<T> implements SkipList<T> {
 	 * @param key The key of the node to be removed.
 	 * 
 	 */
-	@SuppressWarnings("unchecked")
 	@Override
 	public void remove(int key) {
-		SkipListNode<T>[] update = new SkipListNode[this.getMaxHeight()];
-		SkipListNode<T> target = this.searchPlace(update, key);
+		SkipListNode<T> target = this.searchPlace(key);
 
 		target = target.getForward(0);
 
-		if (target.getKey() == key) {
+		if ((target != this.tail) && (target.getKey() == key)) {
 			int level = 0;
-			while ((level < this.getMaxHeight()) && (!update[level].getForward(level).equals(target))) {
-				update[level].setForward(level, target.getForward(level));
+			while ((level < target.height()) && (this.update[level].getForward(level) == target)) {
+				this.update[level].setForward(level, target.getForward(level));
+				this.population[level]--;
 				level++;
 			}
+
+			while ((this.height > 0) && (this.population[this.height - 1] == 0)) {
+				this.height--;
+			}
+
+			this.size--;
 		}
 	}
 
-	private SkipListNode<T> searchPlace(SkipListNode<T>[] update, int key) {
-		SkipListNode<T> target = this.getHead();
+	/**
+	 * Fills the update buffer with the last node before the given key at each
+	 * level in use, and returns the one of the bottom level. The levels above the
+	 * height of the skip list only link the head to the tail, so they are skipped.
+	 * 
+	 */
+	private SkipListNode<T> searchPlace(int key) {
+		SkipListNode<T> target = this.head;
 
-		for (int i = this.getMaxHeight() - 1; i >= 0; i--) {
+		for (int i = this.height - 1; i >= 0; i--) {
 			while (target.getForward(i).getKey() < key) {
 				target = target.getForward(i);
 			}
 
-			update[i] = target;
+			this.update[i] = target;
 		}
 
 		return target;
@@ -195,16 +276,16 @@ public class DeterministicSkipList<T> implements SkipList<T> {
 	 */
 	@Override
 	public SkipListNode<T> search(int key) {
-		SkipListNode<T> target = this.getHead();
+		SkipListNode<T> target = this.head;
 
-		for (int i = this.getMaxHeight() - 1; i >= 0; i--) {
+		for (int i = this.height - 1; i >= 0; i--) {
 			while (target.getForward(i).getKey() < key) {
 				target = target.getForward(i);
 			}
 		}
 
 		target = target.getForward(0);
-		if (target.getKey() != key) {
+		if ((target == this.tail) || (target.getKey() != key)) {
 			target = null;
 		}
 
@@ -226,7 +307,7 @@ public class DeterministicSkipList<T> implements SkipList<T> {
 		for (int i = (this.height() - 1); i >= 0; i--) {
 			SkipListNode<T> node = this.getHead();
 
-			while (!node.getForward(i).equals(this.getTail())) {
+			while (node.getForward(i) != this.tail) {
 				node = node.getForward(i);
 
 				if ((node.height() - 1) == i) {
@@ -0,0 +1,212 @@
+package skipList;
+
+import abstractions.ComparableSkipList;
+
+/**
+ * A skip list is a data structure that allows fast search within an ordered
+ * sequence of elements. Fast search is made possible by maintaining a linked
+ * hierarchy and skipping over some elements. This skip list orders its
+ * elements by K-typed comparable keys, and each key is associated to a V-typed
+ * value.
+ * 
+ * The head and the tail are explicit sentinel nodes without keys, recognized
+ * by identity, so no key value is reserved for them. When the caller does not
+ * choose the height of a node, it is drawn from a geometric distribution, as in
+ * the RandomizedSkipList, and the searches start at the current top level.
+ * 
+ * @author Matheus Alves dos Santos
+ * 
+ */
+public class GenericSkipList<K extends Comparable<K>, V> implements ComparableSkipList<K, V> {
+
+	private static final int MAX_HEIGHT = 32;
+
+	private Node<K, V> head;
+	private Node<K, V> tail;
+	private Node<K, V>[] update;
+	private int level;
+	private int size;
+
+	/**
+	 * Constructs an empty GenericSkipList, whose nodes may have up to MAX_HEIGHT
+	 * levels (originally 32).
+	 * 
+	 */
+	@SuppressWarnings("unchecked")
+	public GenericSkipList() {
+		this.head = new Node<K, V>(null, null, MAX_HEIGHT);
+		this.tail = new Node<K, V>(null, null, 0);
+		this.update = new Node[MAX_HEIGHT];
+		this.level = 0;
+		this.size = 0;
+
+		for (int i = 0; i < MAX_HEIGHT; i++) {
+			this.head.forward[i] = this.tail;
+		}
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return (this.size == 0);
+	}
+
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	@Override
+	public int height() {
+		return this.level;
+	}
+
+	/**
+	 * Inserts a new element at the skip list, in a node whose height is drawn at
+	 * random. If the skip list already contains a node with the same key, only
+	 * updates the node value. Null keys and null values are ignored.
+	 * 
+	 * @param key   The key for access of the value to be inserted.
+	 * @param value The value to be inserted.
+	 * 
+	 */
+	@Override
+	public void insert(K key, V value) {
+		this.insert(key, value, SkipListHeights.random(this.size, MAX_HEIGHT));
+	}
+
+	/**
+	 * Inserts a new element (using the given height) at the skip list. If the skip
+	 * list already contains a node with the same key, only updates the node value.
+	 * Null keys, null values and heights out of the range [1, MAX_HEIGHT] are
+	 * ignored.
+	 * 
+	 * @param key    The key for access of the value to be inserted.
+	 * @param value  The value to be inserted.
+	 * @param height The height of the new node that will be created.
+	 * 
+	 */
+	@Override
+	public void insert(K key, V value, int height) {
+		if ((key != null) && (value != null) && (height >= 1) && (height <= MAX_HEIGHT)) {
+			Node<K, V> target = this.searchPlace(key).forward[0];
+
+			if ((target != this.tail) && (target.key.compareTo(key) == 0)) {
+				target.value = value;
+			}
+
+			else {
+				for (int i = this.level; i < height; i++) {
+					this.update[i] = this.head;
+				}
+
+				target = new Node<K, V>(key, value, height);
+
+				for (int i = 0; i < height; i++) {
+					target.forward[i] = this.update[i].forward[i];
+					this.update[i].forward[i] = target;
+				}
+
+				this.level = Math.max(this.level, height);
+				this.size++;
+			}
+		}
+	}
+
+	@Override
+	public void remove(K key) {
+		if (key != null) {
+			Node<K, V> target = this.searchPlace(key).forward[0];
+
+			if ((target != this.tail) && (target.key.compareTo(key) == 0)) {
+				for (int i = 0; i < target.forward.length; i++) {
+					this.update[i].forward[i] = target.forward[i];
+				}
+
+				while ((this.level > 0) && (this.head.forward[this.level - 1] == this.tail)) {
+					this.level--;
+				}
+
+				this.size--;
+			}
+		}
+	}
+
+	@Override
+	public V search(K key) {
+		V value = null;
+
+		if (key != null) {
+			Node<K, V> target = this.head;
+
+			for (int i = this.level - 1; i >= 0; i--) {
+				while (this.precedes(target.forward[i], key)) {
+					target = target.forward[i];
+				}
+			}
+
+			target = target.forward[0];
+			if ((target != this.tail) && (target.key.compareTo(key) == 0)) {
+				value = target.value;
+			}
+		}
+
+		return value;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public K[] keys() {
+		K[] keys = (K[]) new Comparable[this.size];
+		Node<K, V> currentNode = this.head.forward[0];
+
+		for (int i = 0; i < keys.length; i++) {
+			keys[i] = currentNode.key;
+			currentNode = currentNode.forward[0];
+		}
+
+		return keys;
+	}
+
+	private boolean precedes(Node<K, V> node, K key) {
+		return ((node != this.tail) && (node.key.compareTo(key) < 0));
+	}
+
+	/**
+	 * Fills the reusable update buffer with the last node before the given key at
+	 * each level in use, and returns the one of the bottom level.
+	 * 
+	 */
+	private Node<K, V> searchPlace(K key) {
+		Node<K, V> target = this.head;
+
+		for (int i = this.level - 1; i >= 0; i--) {
+			while (this.precedes(target.forward[i], key)) {
+				target = target.forward[i];
+			}
+
+			this.update[i] = target;
+		}
+
+		return target;
+	}
+
+	/**
+	 * A node of the GenericSkipList. The sentinel nodes have null keys.
+	 * 
+	 */
+	private static class Node<K, V> {
+
+		private K key;
+		private V value;
+		private Node<K, V>[] forward;
+
+		@SuppressWarnings("unchecked")
+		public Node(K key, V value, int height) {
+			this.key = key;
+			this.value = value;
+			this.forward = new Node[height];
+		}
+
+	}
+
+}
@@ -0,0 +1,342 @@
+package skipList;
+
+/**
+ * A skip list is a data structure that allows fast search within an ordered
+ * sequence of elements. Fast search is made possible by maintaining a linked
+ * hierarchy and skipping over some elements. In this skip list, each link also
+ * stores its span (the number of positions it skips over), so the position of
+ * a key, the element at a given position and the removal of a range of
+ * positions are found as fast as a key, like the rank queries of a sorted-set
+ * leaderboard.
+ * 
+ * The heights of the nodes are drawn as in the RandomizedSkipList. The spans
+ * are kept only for the levels in use; when the top level grows, the new
+ * levels of the head start spanning the whole skip list. The skip list
+ * contains T-type elements.
+ * 
+ * @author Matheus Alves dos Santos
+ * 
+ */
+public class IndexableSkipList<T> extends AbstractSkipList<T> {
+
+	private static final int MAX_HEIGHT = 32;
+
+	private IndexableSkipListNode<T> head;
+	private IndexableSkipListNode<T> tail;
+	private IndexableSkipListNode<T>[] update;
+	private int[] rank;
+	private int level;
+	private int size;
+
+	/**
+	 * Constructs an empty IndexableSkipList. The sentinel nodes are allocated with
+	 * MAX_HEIGHT levels (originally 32), but only the levels in use are visited by
+	 * the searches.
+	 * 
+	 */
+	@SuppressWarnings("unchecked")
+	public IndexableSkipList() {
+		this.head = new IndexableSkipListNode<T>(Integer.MIN_VALUE, null, MAX_HEIGHT);
+		this.tail = new IndexableSkipListNode<T>(Integer.MAX_VALUE, null, MAX_HEIGHT);
+		this.update = new IndexableSkipListNode[MAX_HEIGHT];
+		this.rank = new int[MAX_HEIGHT];
+		this.level = 0;
+		this.size = 0;
+
+		for (int i = 0; i < MAX_HEIGHT; i++) {
+			this.head.setForward(i, this.tail);
+		}
+	}
+
+	public IndexableSkipListNode<T> getHead() {
+		return this.head;
+	}
+
+	public IndexableSkipListNode<T> getTail() {
+		return this.tail;
+	}
+
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	@Override
+	public int height() {
+		return this.level;
+	}
+
+	/**
+	 * Inserts a new element at the skip list, in a node whose height is drawn at
+	 * random. If the skip list already contains a node with the same key, only
+	 * updates the node value.
+	 * 
+	 * @param key   The key for access of the value to be inserted.
+	 * @param value The value to be inserted.
+	 * 
+	 */
+	public void insert(int key, T value) {
+		this.insert(key, value, SkipListHeights.random(this.size, MAX_HEIGHT));
+	}
+
+	/**
+	 * Inserts a new element (using the given height) at the skip list. If the skip
+	 * list already contains a node with the same key, only updates the node value.
+	 * Heights out of the range [1, MAX_HEIGHT] and null values are ignored.
+	 * 
+	 * @param key    The key for access of the value to be inserted.
+	 * @param value  The value to be inserted.
+	 * @param height The height of the new node that will be created.
+	 * 
+	 */
+	@Override
+	public void insert(int key, T value, int height) {
+		if ((height >= 1) && (height <= MAX_HEIGHT) && (value != null)) {
+			IndexableSkipListNode<T> target = this.searchPlace(key).getForward(0);
+
+			if ((target != this.tail) && (target.getKey() == key)) {
+				target.setValue(value);
+			}
+
+			else {
+				for (int i = this.level; i < height; i++) {
+					this.update[i] = this.head;
+					this.rank[i] = 0;
+					this.head.setSpan(i, this.size + 1);
+				}
+
+				target = new IndexableSkipListNode<T>(key, value, height);
+
+				for (int i = 0; i < height; i++) {
+					target.setForward(i, this.update[i].getForward(i));
+					this.update[i].setForward(i, target);
+
+					target.setSpan(i, this.update[i].getSpan(i) - (this.rank[0] - this.rank[i]));
+					this.update[i].setSpan(i, this.rank[0] - this.rank[i] + 1);
+				}
+
+				for (int i = height; i < this.level; i++) {
+					this.update[i].setSpan(i, this.update[i].getSpan(i) + 1);
+				}
+
+				this.level = Math.max(this.level, height);
+				this.size++;
+			}
+		}
+	}
+
+	/**
+	 * Removes a node (containing the given key) from the skip list. If the given
+	 * key is not present in any of the skip list nodes, it remains unchanged.
+	 * 
+	 * @param key The key of the node to be removed.
+	 * 
+	 */
+	@Override
+	public void remove(int key) {
+		IndexableSkipListNode<T> target = this.searchPlace(key).getForward(0);
+
+		if ((target != this.tail) && (target.getKey() == key)) {
+			this.unlink(target);
+			this.shrink();
+		}
+	}
+
+	/**
+	 * Removes the nodes whose positions (counted from zero, in order of keys) are
+	 * in the range [from, to) from the skip list. If the range is empty or not
+	 * contained in [0, size], the skip list remains unchanged.
+	 * 
+	 * @param from The position of the first node to be removed.
+	 * @param to   The position after the last node to be removed.
+	 * 
+	 * @return the number of removed nodes.
+	 * 
+	 */
+	public int removeRange(int from, int to) {
+		int removed = 0;
+
+		if ((from >= 0) && (from < to) && (to <= this.size)) {
+			IndexableSkipListNode<T> target = this.head;
+			int traversed = 0;
+
+			for (int i = this.level - 1; i >= 0; i--) {
+				while ((target.getForward(i) != this.tail) && (traversed + target.getSpan(i) <= from)) {
+					traversed += target.getSpan(i);
+					target = target.getForward(i);
+				}
+
+				this.update[i] = target;
+			}
+
+			target = target.getForward(0);
+
+			while (removed < (to - from)) {
+				IndexableSkipListNode<T> next = target.getForward(0);
+
+				this.unlink(target);
+				target = next;
+				removed++;
+			}
+
+			this.shrink();
+		}
+
+		return removed;
+	}
+
+	/**
+	 * Searches for a node (containing the given key) in the skip list. It will
+	 * return the node if the skip list contains it. Otherwise, it will return null.
+	 * 
+	 * @param key the key of the node being searched for.
+	 * 
+	 * @return the node containing the given key, if it is in the skip list, or
+	 *         null, otherwise.
+	 * 
+	 */
+	@Override
+	public IndexableSkipListNode<T> search(int key) {
+		IndexableSkipListNode<T> target = this.head;
+
+		for (int i = this.level - 1; i >= 0; i--) {
+			while (this.precedes(target.getForward(i), key)) {
+				target = target.getForward(i);
+			}
+		}
+
+		target = target.getForward(0);
+		if ((target == this.tail) || (target.getKey() != key)) {
+			target = null;
+		}
+
+		return target;
+	}
+
+	/**
+	 * Returns the node at the given position (counted from zero, in order of keys)
+	 * of the skip list. It will return null if the position is not in the range
+	 * [0, size).
+	 * 
+	 * @param index The position of the node being searched for.
+	 * 
+	 * @return the node at the given position, or null.
+	 * 
+	 */
+	public IndexableSkipListNode<T> get(int index) {
+		IndexableSkipListNode<T> target = null;
+
+		if ((index >= 0) && (index < this.size)) {
+			int traversed = 0;
+			target = this.head;
+
+			for (int i = this.level - 1; (i >= 0) && (traversed <= index); i--) {
+				while ((target.getForward(i) != this.tail) && (traversed + target.getSpan(i) <= index + 1)) {
+					traversed += target.getSpan(i);
+					target = target.getForward(i);
+				}
+			}
+		}
+
+		return target;
+	}
+
+	/**
+	 * Returns the position (counted from zero, in order of keys) of the node
+	 * containing the given key. It will return -1 if the skip list does not
+	 * contain the key.
+	 * 
+	 * @param key The key of the node whose position is searched for.
+	 * 
+	 * @return the position of the node containing the given key, or -1.
+	 * 
+	 */
+	public int rank(int key) {
+		IndexableSkipListNode<T> target = this.head;
+		int traversed = 0;
+
+		for (int i = this.level - 1; i >= 0; i--) {
+			while (this.precedes(target.getForward(i), key)) {
+				traversed += target.getSpan(i);
+				target = target.getForward(i);
+			}
+		}
+
+		target = target.getForward(0);
+
+		return (((target != this.tail) && (target.getKey() == key)) ? traversed : -1);
+	}
+
+	/**
+	 * Returns an array containing all nodes (including sentinel nodes) of the skip
+	 * list in order.
+	 * 
+	 * @return the array containing all nodes of the skip list.
+	 * 
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public IndexableSkipListNode<T>[] toArray() {
+		IndexableSkipListNode<T>[] array = new IndexableSkipListNode[this.size + 2];
+		IndexableSkipListNode<T> currentNode = this.head;
+
+		for (int i = 0; i < array.length; i++) {
+			array[i] = currentNode;
+			currentNode = currentNode.getForward(0);
+		}
+
+		return array;
+	}
+
+	private boolean precedes(IndexableSkipListNode<T> node, int key) {
+		return ((node != this.tail) && (node.getKey() < key));
+	}
+
+	/**
+	 * Fills the reusable update buffer with the last node before the given key at
+	 * each level in use, and the rank buffer with the positions of these nodes
+	 * (the head is at position zero). Returns the node of the bottom level.
+	 * 
+	 */
+	private IndexableSkipListNode<T> searchPlace(int key) {
+		IndexableSkipListNode<T> target = this.head;
+		int traversed = 0;
+
+		for (int i = this.level - 1; i >= 0; i--) {
+			while (this.precedes(target.getForward(i), key)) {
+				traversed += target.getSpan(i);
+				target = target.getForward(i);
+			}
+
+			this.update[i] = target;
+			this.rank[i] = traversed;
+		}
+
+		return target;
+	}
+
+	/**
+	 * Unlinks the given node, whose predecessors at each level in use are in the
+	 * update buffer, and fixes the spans of these predecessors.
+	 * 
+	 */
+	private void unlink(IndexableSkipListNode<T> target) {
+		for (int i = 0; i < this.level; i++) {
+			if (this.update[i].getForward(i) == target) {
+				this.update[i].setSpan(i, this.update[i].getSpan(i) + target.getSpan(i) - 1);
+				this.update[i].setForward(i, target.getForward(i));
+			} else {
+				this.update[i].setSpan(i, this.update[i].getSpan(i) - 1);
+			}
+		}
+
+		this.size--;
+	}
+
+	private void shrink() {
+		while ((this.level > 0) && (this.head.getForward(this.level - 1) == this.tail)) {
+			this.level--;
+		}
+	}
+
+}
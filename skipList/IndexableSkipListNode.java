@@ -0,0 +1,60 @@
+package skipList;
+
+/**
+ * A node of an indexable skip list. Besides the links of a SkipListNode, each
+ * level of the node stores the span of its link: the number of positions (at
+ * the bottom level) that are skipped over when the link is followed. The spans
+ * allow the skip list to find the position of a node, or the node at a given
+ * position, while it is searched.
+ * 
+ * @author Matheus Alves dos Santos
+ * 
+ */
+public class IndexableSkipListNode<T> extends SkipListNode<T> {
+
+	private int[] span;
+
+	/**
+	 * Constructs an IndexableSkipListNode whose key, height and satellite data are
+	 * given as parameters. All spans start at zero.
+	 * 
+	 * @param key    The key for access of the node being created.
+	 * @param value  The value to be stored at the node.
+	 * @param height The height of the node.
+	 * 
+	 */
+	public IndexableSkipListNode(int key, T value, int height) {
+		super(key, value, height);
+		this.span = new int[height];
+	}
+
+	/**
+	 * Given the specified level, returns the node linked to the one executing this
+	 * method.
+	 * 
+	 * @return the forward node in the specified level.
+	 * 
+	 */
+	@Override
+	public IndexableSkipListNode<T> getForward(int level) {
+		return (IndexableSkipListNode<T>) super.getForward(level);
+	}
+
+	/**
+	 * Given the specified level, returns the number of positions skipped over by
+	 * the link of the node executing this method.
+	 * 
+	 * @param level The level of the link.
+	 * 
+	 * @return the span of the link in the specified level.
+	 * 
+	 */
+	public int getSpan(int level) {
+		return this.span[level];
+	}
+
+	public void setSpan(int level, int span) {
+		this.span[level] = span;
+	}
+
+}
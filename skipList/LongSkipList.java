@@ -0,0 +1,234 @@
+package skipList;
+
+/**
+ * A skip list is a data structure that allows fast search within an ordered
+ * sequence of elements. Fast search is made possible by maintaining a linked
+ * hierarchy and skipping over some elements. This skip list is keyed by
+ * primitive long values (as timestamps or composite ids), stored without
+ * boxing, and each key is associated to a V-typed value.
+ * 
+ * The head and the tail are explicit sentinel nodes recognized by identity, so
+ * every long value, including Long.MIN_VALUE and Long.MAX_VALUE, may be used as
+ * a key. When the caller does not choose the height of a node, it is drawn
+ * from a geometric distribution, as in the RandomizedSkipList, and the
+ * searches start at the current top level.
+ * 
+ * @author Matheus Alves dos Santos
+ * 
+ */
+public class LongSkipList<V> {
+
+	private static final int MAX_HEIGHT = 32;
+
+	private Node<V> head;
+	private Node<V> tail;
+	private Node<V>[] update;
+	private int level;
+	private int size;
+
+	/**
+	 * Constructs an empty LongSkipList, whose nodes may have up to MAX_HEIGHT
+	 * levels (originally 32).
+	 * 
+	 */
+	@SuppressWarnings("unchecked")
+	public LongSkipList() {
+		this.head = new Node<V>(0, null, MAX_HEIGHT);
+		this.tail = new Node<V>(0, null, 0);
+		this.update = new Node[MAX_HEIGHT];
+		this.level = 0;
+		this.size = 0;
+
+		for (int i = 0; i < MAX_HEIGHT; i++) {
+			this.head.forward[i] = this.tail;
+		}
+	}
+
+	/**
+	 * Returns true, if the skip list is empty, or false, otherwise.
+	 * 
+	 * @return the boolean that indicates if the skip list is empty.
+	 * 
+	 */
+	public boolean isEmpty() {
+		return (this.size == 0);
+	}
+
+	/**
+	 * Returns the number of elements contained in the skip list. The sentinel nodes
+	 * are not considered.
+	 * 
+	 * @return the size of the skip list.
+	 * 
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Returns the height of the highest node of the skip list (the sentinel nodes
+	 * are not considered). Returns zero if the skip list is empty.
+	 * 
+	 * @return the height of the highest node of the skip list.
+	 * 
+	 */
+	public int height() {
+		return this.level;
+	}
+
+	/**
+	 * Inserts a new element at the skip list, in a node whose height is drawn at
+	 * random. If the skip list already contains a node with the same key, only
+	 * updates the node value. Null values are ignored.
+	 * 
+	 * @param key   The key for access of the value to be inserted.
+	 * @param value The value to be inserted.
+	 * 
+	 */
+	public void insert(long key, V value) {
+		this.insert(key, value, SkipListHeights.random(this.size, MAX_HEIGHT));
+	}
+
+	/**
+	 * Inserts a new element (using the given height) at the skip list. If the skip
+	 * list already contains a node with the same key, only updates the node value.
+	 * Null values and heights out of the range [1, MAX_HEIGHT] are ignored.
+	 * 
+	 * @param key    The key for access of the value to be inserted.
+	 * @param value  The value to be inserted.
+	 * @param height The height of the new node that will be created.
+	 * 
+	 */
+	public void insert(long key, V value, int height) {
+		if ((value != null) && (height >= 1) && (height <= MAX_HEIGHT)) {
+			Node<V> target = this.searchPlace(key).forward[0];
+
+			if ((target != this.tail) && (target.key == key)) {
+				target.value = value;
+			}
+
+			else {
+				for (int i = this.level; i < height; i++) {
+					this.update[i] = this.head;
+				}
+
+				target = new Node<V>(key, value, height);
+
+				for (int i = 0; i < height; i++) {
+					target.forward[i] = this.update[i].forward[i];
+					this.update[i].forward[i] = target;
+				}
+
+				this.level = Math.max(this.level, height);
+				this.size++;
+			}
+		}
+	}
+
+	/**
+	 * Removes the element with the given key from the skip list. If the given key
+	 * is not present in any of the skip list nodes, it remains unchanged.
+	 * 
+	 * @param key The key of the element to be removed.
+	 * 
+	 */
+	public void remove(long key) {
+		Node<V> target = this.searchPlace(key).forward[0];
+
+		if ((target != this.tail) && (target.key == key)) {
+			for (int i = 0; i < target.forward.length; i++) {
+				this.update[i].forward[i] = target.forward[i];
+			}
+
+			while ((this.level > 0) && (this.head.forward[this.level - 1] == this.tail)) {
+				this.level--;
+			}
+
+			this.size--;
+		}
+	}
+
+	/**
+	 * Searches for the value associated to the given key in the skip list. It will
+	 * return null if the skip list does not contain the key.
+	 * 
+	 * @param key the key being searched for.
+	 * 
+	 * @return the value associated to the given key, or null.
+	 * 
+	 */
+	public V search(long key) {
+		Node<V> target = this.head;
+
+		for (int i = this.level - 1; i >= 0; i--) {
+			while (this.precedes(target.forward[i], key)) {
+				target = target.forward[i];
+			}
+		}
+
+		target = target.forward[0];
+
+		return (((target != this.tail) && (target.key == key)) ? target.value : null);
+	}
+
+	/**
+	 * Returns an array containing all keys of the skip list in order.
+	 * 
+	 * @return the array containing all keys of the skip list.
+	 * 
+	 */
+	public long[] keys() {
+		long[] keys = new long[this.size];
+		Node<V> currentNode = this.head.forward[0];
+
+		for (int i = 0; i < keys.length; i++) {
+			keys[i] = currentNode.key;
+			currentNode = currentNode.forward[0];
+		}
+
+		return keys;
+	}
+
+	private boolean precedes(Node<V> node, long key) {
+		return ((node != this.tail) && (node.key < key));
+	}
+
+	/**
+	 * Fills the reusable update buffer with the last node before the given key at
+	 * each level in use, and returns the one of the bottom level.
+	 * 
+	 */
+	private Node<V> searchPlace(long key) {
+		Node<V> target = this.head;
+
+		for (int i = this.level - 1; i >= 0; i--) {
+			while (this.precedes(target.forward[i], key)) {
+				target = target.forward[i];
+			}
+
+			this.update[i] = target;
+		}
+
+		return target;
+	}
+
+	/**
+	 * A node of the LongSkipList, whose key is a primitive long.
+	 * 
+	 */
+	private static class Node<V> {
+
+		private long key;
+		private V value;
+		private Node<V>[] forward;
+
+		@SuppressWarnings("unchecked")
+		public Node(long key, V value, int height) {
+			this.key = key;
+			this.value = value;
+			this.forward = new Node[height];
+		}
+
+	}
+
+}
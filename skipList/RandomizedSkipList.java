@@ -0,0 +1,228 @@
+package skipList;
+
+/**
+ * A skip list is a data structure that allows fast search within an ordered
+ * sequence of elements. Fast search is made possible by maintaining a linked
+ * hierarchy and skipping over some elements. In this skip list, the elements
+ * that are skipped over are chosen probabilistically: the height of each new
+ * node is drawn from a geometric distribution (each extra level is kept with
+ * probability 1/2) using the ThreadLocalRandom generator.
+ * 
+ * The heights are capped at floor(log2 n) + 2, so the number of levels grows
+ * with the logarithm of the size instead of being fixed in advance. The skip
+ * list also tracks its current top level, so the searches start there instead
+ * of walking over empty levels. The sentinels are compared by identity, so
+ * every int key may be stored. The skip list contains T-type elements.
+ * 
+ * @author Matheus Alves dos Santos
+ * 
+ */
+public class RandomizedSkipList<T> extends AbstractSkipList<T> {
+
+	private static final int MAX_HEIGHT = 32;
+
+	private SkipListNode<T> head;
+	private SkipListNode<T> tail;
+	private SkipListNode<T>[] update;
+	private int level;
+	private int size;
+
+	/**
+	 * Constructs an empty RandomizedSkipList. The sentinel nodes are allocated
+	 * with MAX_HEIGHT levels (originally 32), but only the levels in use are
+	 * visited by the searches.
+	 * 
+	 */
+	@SuppressWarnings("unchecked")
+	public RandomizedSkipList() {
+		this.head = new SkipListNode<T>(Integer.MIN_VALUE, null, MAX_HEIGHT);
+		this.tail = new SkipListNode<T>(Integer.MAX_VALUE, null, MAX_HEIGHT);
+		this.update = new SkipListNode[MAX_HEIGHT];
+		this.level = 0;
+		this.size = 0;
+
+		for (int i = 0; i < MAX_HEIGHT; i++) {
+			this.head.setForward(i, this.tail);
+		}
+	}
+
+	public SkipListNode<T> getHead() {
+		return this.head;
+	}
+
+	public SkipListNode<T> getTail() {
+		return this.tail;
+	}
+
+	/**
+	 * Returns the number of elements contained in the skip list. The sentinel nodes
+	 * are not considered.
+	 * 
+	 * @return the size of the skip list.
+	 * 
+	 */
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Returns the height of the highest node of the skip list (the sentinel nodes
+	 * are not considered), which is the current top level. Returns zero if the
+	 * skip list is empty.
+	 * 
+	 * @return the height of the highest node of the skip list.
+	 * 
+	 */
+	@Override
+	public int height() {
+		return this.level;
+	}
+
+	/**
+	 * Inserts a new element at the skip list, in a node whose height is drawn at
+	 * random. If the skip list already contains a node with the same key, only
+	 * updates the node value.
+	 * 
+	 * @param key   The key for access of the value to be inserted.
+	 * @param value The value to be inserted.
+	 * 
+	 */
+	public void insert(int key, T value) {
+		this.insert(key, value, SkipListHeights.random(this.size, MAX_HEIGHT));
+	}
+
+	/**
+	 * Inserts a new element (using the given height) at the skip list. If the skip
+	 * list already contains a node with the same key, only updates the node value.
+	 * Heights out of the range [1, MAX_HEIGHT] and null values are ignored.
+	 * 
+	 * @param key    The key for access of the value to be inserted.
+	 * @param value  The value to be inserted.
+	 * @param height The height of the new node that will be created.
+	 * 
+	 */
+	@Override
+	public void insert(int key, T value, int height) {
+		if ((height >= 1) && (height <= MAX_HEIGHT) && (value != null)) {
+			SkipListNode<T> target = this.searchPlace(key).getForward(0);
+
+			if ((target != this.tail) && (target.getKey() == key)) {
+				target.setValue(value);
+			}
+
+			else {
+				for (int i = this.level; i < height; i++) {
+					this.update[i] = this.head;
+				}
+
+				target = new SkipListNode<T>(key, value, height);
+
+				for (int i = 0; i < height; i++) {
+					target.setForward(i, this.update[i].getForward(i));
+					this.update[i].setForward(i, target);
+				}
+
+				this.level = Math.max(this.level, height);
+				this.size++;
+			}
+		}
+	}
+
+	/**
+	 * Removes a node (containing the given key) from the skip list. If the given
+	 * key is not present in any of the skip list nodes, it remains unchanged.
+	 * 
+	 * @param key The key of the node to be removed.
+	 * 
+	 */
+	@Override
+	public void remove(int key) {
+		SkipListNode<T> target = this.searchPlace(key).getForward(0);
+
+		if ((target != this.tail) && (target.getKey() == key)) {
+			for (int i = 0; i < target.height(); i++) {
+				this.update[i].setForward(i, target.getForward(i));
+			}
+
+			while ((this.level > 0) && (this.head.getForward(this.level - 1) == this.tail)) {
+				this.level--;
+			}
+
+			this.size--;
+		}
+	}
+
+	/**
+	 * Searches for a node (containing the given key) in the skip list. It will
+	 * return the node if the skip list contains it. Otherwise, it will return null.
+	 * 
+	 * @param key the key of the node being searched for.
+	 * 
+	 * @return the node containing the given key, if it is in the skip list, or
+	 *         null, otherwise.
+	 * 
+	 */
+	@Override
+	public SkipListNode<T> search(int key) {
+		SkipListNode<T> target = this.head;
+
+		for (int i = this.level - 1; i >= 0; i--) {
+			while (this.precedes(target.getForward(i), key)) {
+				target = target.getForward(i);
+			}
+		}
+
+		target = target.getForward(0);
+		if ((target == this.tail) || (target.getKey() != key)) {
+			target = null;
+		}
+
+		return target;
+	}
+
+	/**
+	 * Returns an array containing all nodes (including sentinel nodes) of the skip
+	 * list in order.
+	 * 
+	 * @return the array containing all nodes of the skip list.
+	 * 
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public SkipListNode<T>[] toArray() {
+		SkipListNode<T>[] array = new SkipListNode[this.size + 2];
+		SkipListNode<T> currentNode = this.head;
+
+		for (int i = 0; i < array.length; i++) {
+			array[i] = currentNode;
+			currentNode = currentNode.getForward(0);
+		}
+
+		return array;
+	}
+
+	private boolean precedes(SkipListNode<T> node, int key) {
+		return ((node != this.tail) && (node.getKey() < key));
+	}
+
+	/**
+	 * Fills the reusable update buffer with the last node before the given key at
+	 * each level in use, and returns the one of the bottom level.
+	 * 
+	 */
+	private SkipListNode<T> searchPlace(int key) {
+		SkipListNode<T> target = this.head;
+
+		for (int i = this.level - 1; i >= 0; i--) {
+			while (this.precedes(target.getForward(i), key)) {
+				target = target.getForward(i);
+			}
+
+			this.update[i] = target;
+		}
+
+		return target;
+	}
+
+}
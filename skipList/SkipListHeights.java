@@ -0,0 +1,38 @@
+package skipList;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Draws the heights of the nodes of the randomized skip lists. A height is
+ * drawn from a geometric distribution of parameter 1/2 (each extra level is
+ * kept with probability 1/2) and capped at floor(log2 n) + 2, where n is the
+ * number of nodes already in the skip list, so the number of levels grows with
+ * the logarithm of the size instead of being fixed in advance.
+ * 
+ * @author Matheus Alves dos Santos
+ * 
+ */
+final class SkipListHeights {
+
+	private SkipListHeights() {
+	}
+
+	/**
+	 * Draws the height of a new node for a skip list that already contains the
+	 * given number of nodes. The height is 1 if the skip list is empty, and never
+	 * greater than the given maximum height.
+	 * 
+	 * @param count     The number of nodes already in the skip list.
+	 * @param maxHeight The maximum height allowed to the nodes.
+	 * 
+	 * @return the height of a new node.
+	 * 
+	 */
+	static int random(int count, int maxHeight) {
+		int limit = Math.min(maxHeight, 33 - Integer.numberOfLeadingZeros(count));
+		int height = Integer.numberOfTrailingZeros(ThreadLocalRandom.current().nextInt()) + 1;
+
+		return Math.min(height, limit);
+	}
+
+}
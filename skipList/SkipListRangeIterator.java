@@ -0,0 +1,53 @@
+package skipList;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An iterator over the nodes of a skip list whose keys are not greater than a
+ * given bound. The nodes are visited lazily, following the links of the bottom
+ * level from the first node of the range, so the skip list must not be changed
+ * while the iteration is in progress.
+ * 
+ * @author Matheus Alves dos Santos
+ * 
+ */
+class SkipListRangeIterator<T> implements Iterator<SkipListNode<T>> {
+
+	private SkipListNode<T> node;
+	private SkipListNode<T> tail;
+	private int hi;
+
+	/**
+	 * Constructs an iterator that starts at the given node and stops at the tail
+	 * or at the first node whose key is greater than hi.
+	 * 
+	 * @param node The first node of the range.
+	 * @param tail The tail sentinel of the skip list.
+	 * @param hi   The greatest key of the range.
+	 * 
+	 */
+	SkipListRangeIterator(SkipListNode<T> node, SkipListNode<T> tail, int hi) {
+		this.node = node;
+		this.tail = tail;
+		this.hi = hi;
+	}
+
+	@Override
+	public boolean hasNext() {
+		return ((this.node != this.tail) && (this.node.getKey() <= this.hi));
+	}
+
+	@Override
+	public SkipListNode<T> next() {
+		if (!this.hasNext()) {
+			throw new NoSuchElementException("There are no more elements in the range.");
+		}
+
+		SkipListNode<T> next = this.node;
+		this.node = this.node.getForward(0);
+
+		return next;
+	}
+
+}
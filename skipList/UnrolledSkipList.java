@@ -0,0 +1,372 @@
+package skipList;
+
+import java.util.Arrays;
+
+/**
+ * A skip list is a data structure that allows fast search within an ordered
+ * sequence of elements. Fast search is made possible by maintaining a linked
+ * hierarchy and skipping over some elements. In this unrolled skip list, each
+ * node is a block that holds a sorted array of keys (from 16 to 64, originally
+ * 32) and their values, and the links skip over whole blocks.
+ * 
+ * A search follows the links comparing only the smallest key of each block,
+ * which is copied into the block itself, and then finishes with a binary search
+ * in the keys of one block. So the skip list has many times fewer nodes than
+ * elements, and each search touches few nodes and arrays. A full block is
+ * split in two halves, and a block that becomes too empty is merged with the
+ * next one. The heights of the blocks are drawn as in the RandomizedSkipList.
+ * The skip list contains T-type elements.
+ * 
+ * @author Matheus Alves dos Santos
+ * 
+ */
+public class UnrolledSkipList<T> {
+
+	private static final int MAX_HEIGHT = 32;
+	private static final int DEFAULT_CAPACITY = 32;
+
+	private Block head;
+	private Block tail;
+	private Block[] update;
+	private int capacity;
+	private int level;
+	private int blocks;
+	private int size;
+
+	/**
+	 * Constructs an empty UnrolledSkipList whose blocks hold up to
+	 * DEFAULT_CAPACITY keys (originally 32).
+	 * 
+	 */
+	public UnrolledSkipList() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Constructs an empty UnrolledSkipList whose blocks hold up to the given number
+	 * of keys, which must be in the range [16, 64].
+	 * 
+	 * @param capacity The maximum number of keys of each block.
+	 * 
+	 */
+	public UnrolledSkipList(int capacity) {
+		if ((capacity < 16) || (capacity > 64)) {
+			throw new IllegalArgumentException("The capacity of the blocks must be between 16 and 64.");
+		}
+
+		this.head = new Block(0, MAX_HEIGHT);
+		this.tail = new Block(0, 0);
+		this.update = new Block[MAX_HEIGHT];
+		this.capacity = capacity;
+		this.level = 0;
+		this.blocks = 0;
+		this.size = 0;
+
+		for (int i = 0; i < MAX_HEIGHT; i++) {
+			this.head.forward[i] = this.tail;
+		}
+	}
+
+	/**
+	 * Returns true, if the skip list is empty, or false, otherwise.
+	 * 
+	 * @return the boolean that indicates if the skip list is empty.
+	 * 
+	 */
+	public boolean isEmpty() {
+		return (this.size == 0);
+	}
+
+	/**
+	 * Returns the number of elements contained in the skip list.
+	 * 
+	 * @return the size of the skip list.
+	 * 
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Returns the height of the highest block of the skip list (the sentinel nodes
+	 * are not considered). Returns zero if the skip list is empty.
+	 * 
+	 * @return the height of the highest block of the skip list.
+	 * 
+	 */
+	public int height() {
+		return this.level;
+	}
+
+	/**
+	 * Returns the number of blocks that hold the elements of the skip list.
+	 * 
+	 * @return the number of blocks of the skip list.
+	 * 
+	 */
+	public int blocks() {
+		return this.blocks;
+	}
+
+	/**
+	 * Inserts a new element at the skip list. If the skip list already contains
+	 * the same key, only updates its value. If the block that must receive the key
+	 * is full, it is split in two halves. Null values are ignored.
+	 * 
+	 * @param key   The key for access of the value to be inserted.
+	 * @param value The value to be inserted.
+	 * 
+	 */
+	public void insert(int key, T value) {
+		if (value != null) {
+			Block target = this.searchPlace(key);
+
+			if (target == this.head) {
+				target = this.link(new Block(this.capacity, SkipListHeights.random(this.blocks, MAX_HEIGHT)));
+			}
+
+			int position = Arrays.binarySearch(target.keys, 0, target.count, key);
+
+			if (position >= 0) {
+				target.values[position] = value;
+			}
+
+			else {
+				position = -(position + 1);
+
+				if (target.count == this.capacity) {
+					Block next = this.split(target);
+
+					if (position > target.count) {
+						position -= target.count;
+						target = next;
+					}
+				}
+
+				System.arraycopy(target.keys, position, target.keys, position + 1, target.count - position);
+				System.arraycopy(target.values, position, target.values, position + 1, target.count - position);
+				target.keys[position] = key;
+				target.values[position] = value;
+				target.first = target.keys[0];
+				target.count++;
+
+				this.size++;
+			}
+		}
+	}
+
+	/**
+	 * Removes the element with the given key from the skip list. If the given key
+	 * is not present in the skip list, it remains unchanged. A block that becomes
+	 * empty is unlinked, and a block that becomes less than a quarter full is
+	 * merged with the next one, if their keys fit in one block.
+	 * 
+	 * @param key The key of the element to be removed.
+	 * 
+	 */
+	public void remove(int key) {
+		Block target = this.searchPlace(key);
+		int position = (target != this.head) ? Arrays.binarySearch(target.keys, 0, target.count, key) : -1;
+
+		if (position >= 0) {
+			System.arraycopy(target.keys, position + 1, target.keys, position, target.count - position - 1);
+			System.arraycopy(target.values, position + 1, target.values, position, target.count - position - 1);
+			target.count--;
+			target.values[target.count] = null;
+
+			this.size--;
+
+			if (target.count == 0) {
+				this.unlink(target);
+			}
+
+			else {
+				target.first = target.keys[0];
+				Block next = target.forward[0];
+
+				if ((target.count < (this.capacity / 4)) && (next != this.tail)
+						&& ((target.count + next.count) <= this.capacity)) {
+					this.merge(target, next);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Searches for the value associated to the given key in the skip list. It will
+	 * return null if the skip list does not contain the key.
+	 * 
+	 * @param key the key being searched for.
+	 * 
+	 * @return the value associated to the given key, or null.
+	 * 
+	 */
+	@SuppressWarnings("unchecked")
+	public T search(int key) {
+		Block target = this.head;
+
+		for (int i = this.level - 1; i >= 0; i--) {
+			while ((target.forward[i] != this.tail) && (target.forward[i].first <= key)) {
+				target = target.forward[i];
+			}
+		}
+
+		int position = (target != this.head) ? Arrays.binarySearch(target.keys, 0, target.count, key) : -1;
+
+		return ((position >= 0) ? (T) target.values[position] : null);
+	}
+
+	/**
+	 * Returns an array containing all keys of the skip list in order.
+	 * 
+	 * @return the array containing all keys of the skip list.
+	 * 
+	 */
+	public int[] keys() {
+		int[] keys = new int[this.size];
+		int position = 0;
+
+		for (Block block = this.head.forward[0]; block != this.tail; block = block.forward[0]) {
+			System.arraycopy(block.keys, 0, keys, position, block.count);
+			position += block.count;
+		}
+
+		return keys;
+	}
+
+	// THE METHODS BELOW LINK, SPLIT AND MERGE THE BLOCKS.
+
+	/**
+	 * Fills the update buffer with the last block whose smallest key is smaller
+	 * than the given key at each level in use. Returns the block that holds (or
+	 * must receive) the key: the next block at the bottom level, if its smallest
+	 * key is the given one, or otherwise the last block of the buffer. When the
+	 * key is smaller than every key, returns the first block (or the head, if the
+	 * skip list is empty).
+	 * 
+	 */
+	private Block searchPlace(int key) {
+		Block target = this.head;
+
+		for (int i = this.level - 1; i >= 0; i--) {
+			while ((target.forward[i] != this.tail) && (target.forward[i].first < key)) {
+				target = target.forward[i];
+			}
+
+			this.update[i] = target;
+		}
+
+		Block next = target.forward[0];
+		if ((next != this.tail) && ((target == this.head) || (next.first == key))) {
+			target = next;
+		}
+
+		return target;
+	}
+
+	/**
+	 * Links the given block after the block at the bottom of the update buffer (or
+	 * the head, if the skip list is empty). At each level, the block is linked
+	 * after the last block of the bottom level that reaches the level.
+	 * 
+	 */
+	private Block link(Block block) {
+		Block previous = (this.level > 0) ? this.update[0] : this.head;
+
+		for (int i = this.level; i < block.forward.length; i++) {
+			this.update[i] = this.head;
+		}
+
+		for (int i = 0; i < block.forward.length; i++) {
+			Block predecessor = (i < previous.forward.length) ? previous : this.update[i];
+
+			block.forward[i] = predecessor.forward[i];
+			predecessor.forward[i] = block;
+		}
+
+		this.level = Math.max(this.level, block.forward.length);
+		this.blocks++;
+
+		return block;
+	}
+
+	/**
+	 * Unlinks the given block, whose predecessors at each level are in the update
+	 * buffer.
+	 * 
+	 */
+	private void unlink(Block block) {
+		for (int i = 0; i < block.forward.length; i++) {
+			this.update[i].forward[i] = block.forward[i];
+		}
+
+		while ((this.level > 0) && (this.head.forward[this.level - 1] == this.tail)) {
+			this.level--;
+		}
+
+		this.blocks--;
+	}
+
+	/**
+	 * Moves the upper half of the keys of the given full block to a new block,
+	 * linked right after it, and returns the new block.
+	 * 
+	 */
+	private Block split(Block block) {
+		Block next = new Block(this.capacity, SkipListHeights.random(this.blocks, MAX_HEIGHT));
+		int half = block.count / 2;
+
+		next.count = block.count - half;
+		System.arraycopy(block.keys, half, next.keys, 0, next.count);
+		System.arraycopy(block.values, half, next.values, 0, next.count);
+		Arrays.fill(block.values, half, block.count, null);
+		block.count = half;
+		next.first = next.keys[0];
+
+		this.update[0] = block;
+		this.link(next);
+
+		return next;
+	}
+
+	/**
+	 * Moves the keys of the next block to the given one and unlinks the next
+	 * block. The predecessors of the next block are the given block, at the levels
+	 * it reaches, and the blocks of the update buffer, at the others.
+	 * 
+	 */
+	private void merge(Block block, Block next) {
+		System.arraycopy(next.keys, 0, block.keys, block.count, next.count);
+		System.arraycopy(next.values, 0, block.values, block.count, next.count);
+		block.count += next.count;
+
+		for (int i = 0; i < block.forward.length; i++) {
+			this.update[i] = block;
+		}
+
+		this.unlink(next);
+	}
+
+	/**
+	 * A block of the UnrolledSkipList. The smallest key of the block is copied to
+	 * the first field, so the searches read a single array element only in the
+	 * block where they finish.
+	 * 
+	 */
+	private static class Block {
+
+		private int first;
+		private int count;
+		private int[] keys;
+		private Object[] values;
+		private Block[] forward;
+
+		public Block(int capacity, int height) {
+			this.keys = new int[capacity];
+			this.values = new Object[capacity];
+			this.forward = new Block[height];
+		}
+
+	}
+
+}